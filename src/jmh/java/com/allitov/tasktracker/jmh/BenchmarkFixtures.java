@@ -0,0 +1,68 @@
+package com.allitov.tasktracker.jmh;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import lombok.experimental.UtilityClass;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@UtilityClass
+public class BenchmarkFixtures {
+
+    public User createUser(String id) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .email("user" + id + "@email.com")
+                .password("password")
+                .roles(Set.of(RoleType.USER, RoleType.MANAGER))
+                .build();
+    }
+
+    public Map<String, User> createUsers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> createUser(String.valueOf(i)))
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    public Task createTask(String id, int observerCount) {
+        return Task.builder()
+                .id(id)
+                .name("task" + id)
+                .description("description")
+                .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .status(Task.TaskStatus.IN_PROGRESS)
+                .authorId("0")
+                .assigneeId("0")
+                .observerIds(IntStream.range(0, observerCount)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toCollection(HashSet::new)))
+                .build();
+    }
+
+    public Task createHydratedTask(String id, int observerCount) {
+        Task task = createTask(id, observerCount);
+        task.setAuthor(createUser(task.getAuthorId()));
+        task.setAssignee(createUser(task.getAssigneeId()));
+        task.setObservers(task.getObserverIds().stream()
+                .map(BenchmarkFixtures::createUser)
+                .collect(Collectors.toSet()));
+
+        return task;
+    }
+
+    public List<Task> createHydratedTasks(int count, int observerCount) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> createHydratedTask(String.valueOf(i), observerCount))
+                .toList();
+    }
+}
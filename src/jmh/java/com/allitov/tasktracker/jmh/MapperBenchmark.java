@@ -0,0 +1,95 @@
+package com.allitov.tasktracker.jmh;
+
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.web.dto.response.TaskListResponse;
+import com.allitov.tasktracker.web.dto.response.TaskResponse;
+import com.allitov.tasktracker.web.dto.response.UserListResponse;
+import com.allitov.tasktracker.web.dto.response.UserResponse;
+import com.allitov.tasktracker.web.mapper.TaskMapper;
+import com.allitov.tasktracker.web.mapper.TaskMapperImpl;
+import com.allitov.tasktracker.web.mapper.UserMapper;
+import com.allitov.tasktracker.web.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int observerCount;
+
+    @Param({"100"})
+    private int taskCount;
+
+    private AnnotationConfigApplicationContext context;
+
+    private TaskMapper taskMapper;
+
+    private UserMapper userMapper;
+
+    private Task task;
+
+    private List<Task> tasks;
+
+    private User user;
+
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TaskMapperImpl.class, UserMapperImpl.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        userMapper = context.getBean(UserMapper.class);
+        task = BenchmarkFixtures.createHydratedTask("0", observerCount);
+        tasks = BenchmarkFixtures.createHydratedTasks(taskCount, observerCount);
+        user = BenchmarkFixtures.createUser("0");
+        users = new ArrayList<>(BenchmarkFixtures.createUsers(taskCount).values());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse taskToResponse() {
+        return taskMapper.taskToResponse(task);
+    }
+
+    @Benchmark
+    public TaskListResponse taskListToTaskListResponse() {
+        return taskMapper.taskListToTaskListResponse(tasks);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.userToResponse(user);
+    }
+
+    @Benchmark
+    public UserListResponse userListToUserListResponse() {
+        return userMapper.userListToUserListResponse(users);
+    }
+}
@@ -0,0 +1,63 @@
+package com.allitov.tasktracker.jmh;
+
+import com.allitov.tasktracker.web.dto.response.SparseFieldsFilter;
+import com.allitov.tasktracker.web.dto.response.TaskListResponse;
+import com.allitov.tasktracker.web.mapper.TaskMapper;
+import com.allitov.tasktracker.web.mapper.TaskMapperImpl;
+import com.allitov.tasktracker.web.mapper.UserMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int taskCount;
+
+    @Param({"10"})
+    private int observerCount;
+
+    private ObjectMapper objectMapper;
+
+    private TaskListResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(SparseFieldsFilter.filterProvider())
+                .build();
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(TaskMapperImpl.class, UserMapperImpl.class)) {
+            response = context.getBean(TaskMapper.class)
+                    .taskListToTaskListResponse(BenchmarkFixtures.createHydratedTasks(taskCount, observerCount));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,109 @@
+package com.allitov.tasktracker.jmh;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
+import com.allitov.tasktracker.configuration.properties.UserProperties;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.memory.InMemoryTaskRepository;
+import com.allitov.tasktracker.model.repository.memory.InMemoryUserRepository;
+import com.allitov.tasktracker.model.service.TaskService;
+import com.allitov.tasktracker.model.service.cache.UserBatchLoader;
+import com.allitov.tasktracker.model.service.cache.UserCache;
+import com.allitov.tasktracker.model.service.impl.DatabaseTaskService;
+import com.allitov.tasktracker.model.service.impl.DatabaseUserService;
+import com.allitov.tasktracker.model.service.summary.UserSummaryPropagator;
+import com.allitov.tasktracker.security.AuthenticationCache;
+import com.allitov.tasktracker.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int observerCount;
+
+    @Param({"100"})
+    private int taskCount;
+
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, User> users = BenchmarkFixtures.createUsers(Math.max(observerCount, 1));
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        userRepository.insert(users.values()).blockLast();
+        TaskRepository taskRepository = new InMemoryTaskRepository(userRepository);
+        taskRepository.insert(IntStream.range(0, taskCount)
+                        .mapToObj(i -> BenchmarkFixtures.createTask(String.valueOf(i), observerCount))
+                        .toList())
+                .blockLast();
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider =
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                        .getBeanProvider(MeterRegistry.class);
+        TaskProperties taskProperties = new TaskProperties();
+        UserProperties userProperties = new UserProperties();
+        AuthenticationProperties authenticationProperties = new AuthenticationProperties();
+        DatabaseUserService userService = new DatabaseUserService(
+                userRepository,
+                new BCryptPasswordEncoder(),
+                new UserCache(userProperties, meterRegistryProvider),
+                new UserBatchLoader(userRepository, userProperties, meterRegistryProvider),
+                new AuthenticationCache(authenticationProperties, meterRegistryProvider),
+                new TokenService(authenticationProperties, new ObjectMapper()),
+                Schedulers.boundedElastic(),
+                new UserSummaryPropagator(taskRepository, taskProperties)
+        );
+
+        taskService = new DatabaseTaskService(
+                taskRepository,
+                userService,
+                taskProperties,
+                meterRegistry,
+                ObservationRegistry.NOOP
+        );
+    }
+
+    @Benchmark
+    public Task findById() {
+        return taskService.findById("0").block();
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return taskService.findAll(new TaskFilter()).collectList().block();
+    }
+}
@@ -0,0 +1,41 @@
+package com.allitov.tasktracker.aop;
+
+import com.allitov.tasktracker.metrics.ReactiveMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String METRIC_NAME = "app.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around(
+            "execution(public * com.allitov.tasktracker.model.service.TaskService+.*(..)) || " +
+            "execution(public * com.allitov.tasktracker.model.service.UserService+.*(..))"
+    )
+    public Object serviceMethodsAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of(
+                "service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName()
+        );
+
+        Object result = joinPoint.proceed();
+
+        return switch (result) {
+            case Mono<?> mono -> ReactiveMetrics.timed(mono, meterRegistry, METRIC_NAME, tags);
+            case Flux<?> flux -> ReactiveMetrics.timed(flux, meterRegistry, METRIC_NAME, tags);
+            case null, default -> result;
+        };
+    }
+}
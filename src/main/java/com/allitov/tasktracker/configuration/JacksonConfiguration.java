@@ -0,0 +1,15 @@
+package com.allitov.tasktracker.configuration;
+
+import com.allitov.tasktracker.web.dto.response.SparseFieldsFilter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder.filters(SparseFieldsFilter.filterProvider());
+    }
+}
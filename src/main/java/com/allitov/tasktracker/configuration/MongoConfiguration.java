@@ -0,0 +1,62 @@
+package com.allitov.tasktracker.configuration;
+
+import com.allitov.tasktracker.configuration.properties.MongoClientProperties;
+import com.allitov.tasktracker.metrics.MongoConnectionPoolDiagnosticsListener;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfiguration {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsCustomizer(MongoClientProperties properties,
+                                                                              MeterRegistry meterRegistry) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        MongoClientProperties.Socket socket = properties.getSocket();
+
+        return builder -> {
+            builder
+                    .applyToConnectionPoolSettings(settings -> {
+                        Optional.ofNullable(pool.getMinSize()).ifPresent(settings::minSize);
+                        Optional.ofNullable(pool.getMaxSize()).ifPresent(settings::maxSize);
+                        Optional.ofNullable(pool.getMaxConnecting()).ifPresent(settings::maxConnecting);
+                        Optional.ofNullable(pool.getMaxWaitTime()).ifPresent(time ->
+                                settings.maxWaitTime(time.toMillis(), TimeUnit.MILLISECONDS));
+                        Optional.ofNullable(pool.getMaxConnectionIdleTime()).ifPresent(time ->
+                                settings.maxConnectionIdleTime(time.toMillis(), TimeUnit.MILLISECONDS));
+                        Optional.ofNullable(pool.getMaxConnectionLifeTime()).ifPresent(time ->
+                                settings.maxConnectionLifeTime(time.toMillis(), TimeUnit.MILLISECONDS));
+                        settings.addConnectionPoolListener(new MongoConnectionPoolDiagnosticsListener(meterRegistry));
+                    })
+                    .applyToSocketSettings(settings -> {
+                        Optional.ofNullable(socket.getConnectTimeout()).ifPresent(time ->
+                                settings.connectTimeout(Math.toIntExact(time.toMillis()), TimeUnit.MILLISECONDS));
+                        Optional.ofNullable(socket.getReadTimeout()).ifPresent(time ->
+                                settings.readTimeout(Math.toIntExact(time.toMillis()), TimeUnit.MILLISECONDS));
+                    });
+            if (!properties.getCompressors().isEmpty()) {
+                builder.compressorList(properties.getCompressors().stream()
+                        .map(MongoConfiguration::toMongoCompressor)
+                        .toList());
+            }
+            Optional.ofNullable(properties.getReadPreference())
+                    .map(ReadPreference::valueOf)
+                    .ifPresent(builder::readPreference);
+        };
+    }
+
+    private static MongoCompressor toMongoCompressor(MongoClientProperties.Compressor compressor) {
+        return switch (compressor) {
+            case ZSTD -> MongoCompressor.createZstdCompressor();
+            case SNAPPY -> MongoCompressor.createSnappyCompressor();
+            case ZLIB -> MongoCompressor.createZlibCompressor();
+        };
+    }
+}
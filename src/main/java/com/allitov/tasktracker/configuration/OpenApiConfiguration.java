@@ -16,6 +16,12 @@ import java.util.List;
         name = "Basic authorization",
         scheme = "basic"
 )
+@SecurityScheme(
+        type = SecuritySchemeType.HTTP,
+        name = "Bearer authorization",
+        scheme = "bearer",
+        bearerFormat = "JWT"
+)
 public class OpenApiConfiguration {
 
     @Bean
@@ -1,6 +1,14 @@
 package com.allitov.tasktracker.configuration;
 
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
 import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.security.AuthenticationCache;
+import com.allitov.tasktracker.security.BearerTokenAuthenticationConverter;
+import com.allitov.tasktracker.security.BearerTokenReactiveAuthenticationManager;
+import com.allitov.tasktracker.security.CachingReactiveAuthenticationManager;
+import com.allitov.tasktracker.security.TimedReactiveAuthenticationManager;
+import com.allitov.tasktracker.security.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,13 +16,18 @@ import org.springframework.security.authentication.ReactiveAuthenticationManager
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
 import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -25,24 +38,55 @@ public class SecurityConfiguration {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordEncoderScheduler(AuthenticationProperties authenticationProperties) {
+        AuthenticationProperties.PasswordEncoder properties = authenticationProperties.getPasswordEncoder();
+
+        return Schedulers.newBoundedElastic(
+                properties.getThreads(),
+                properties.getQueueCapacity(),
+                "password-encoder"
+        );
+    }
+
     @Bean
     public ReactiveAuthenticationManager authenticationManager(ReactiveUserDetailsService userDetailsService,
-                                                               PasswordEncoder passwordEncoder) {
+                                                               PasswordEncoder passwordEncoder,
+                                                               Scheduler passwordEncoderScheduler,
+                                                               AuthenticationCache authenticationCache,
+                                                               MeterRegistry meterRegistry) {
         var reactiveAuthenticationManager =
                 new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
         reactiveAuthenticationManager.setPasswordEncoder(passwordEncoder);
+        reactiveAuthenticationManager.setScheduler(passwordEncoderScheduler);
 
-        return reactiveAuthenticationManager;
+        return new CachingReactiveAuthenticationManager(
+                new TimedReactiveAuthenticationManager(reactiveAuthenticationManager, meterRegistry, "password"),
+                authenticationCache
+        );
     }
 
     @Bean
     public SecurityWebFilterChain filterChain(ServerHttpSecurity httpSecurity,
                                               ReactiveAuthenticationManager authenticationManager,
+                                              TokenService tokenService,
                                               ServerAuthenticationEntryPoint authenticationEntryPoint,
-                                              ServerAccessDeniedHandler accessDeniedHandler) {
+                                              ServerAccessDeniedHandler accessDeniedHandler,
+                                              MeterRegistry meterRegistry) {
+        var bearerTokenAuthenticationFilter = new AuthenticationWebFilter(new TimedReactiveAuthenticationManager(
+                new BearerTokenReactiveAuthenticationManager(tokenService), meterRegistry, "bearer"));
+        bearerTokenAuthenticationFilter.setServerAuthenticationConverter(new BearerTokenAuthenticationConverter());
+        bearerTokenAuthenticationFilter.setAuthenticationFailureHandler(
+                new ServerAuthenticationEntryPointFailureHandler(authenticationEntryPoint));
+
         httpSecurity
                 .authorizeExchange(auth -> auth
                         .pathMatchers("/v3/api-docs/**", "/webjars/swagger-ui/**").permitAll()
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .pathMatchers("/actuator/prometheus").hasAuthority(
+                                RoleType.MANAGER.name()
+                        )
+                        .pathMatchers(HttpMethod.POST, "/api/v2/auth/login").permitAll()
                         .pathMatchers(HttpMethod.POST, "/api/v2/user").permitAll()
                         .pathMatchers("/api/v2/user/**").hasAnyAuthority(
                                 RoleType.USER.name(),
@@ -51,6 +95,9 @@ public class SecurityConfiguration {
                         .pathMatchers(HttpMethod.POST, "/api/v2/task").hasAuthority(
                                 RoleType.MANAGER.name()
                         )
+                        .pathMatchers(HttpMethod.POST, "/api/v2/task/batch").hasAuthority(
+                                RoleType.MANAGER.name()
+                        )
                         .pathMatchers(HttpMethod.PUT, "/api/v2/task/{id}").hasAuthority(
                                 RoleType.MANAGER.name()
                         )
@@ -65,6 +112,7 @@ public class SecurityConfiguration {
                 .authenticationManager(authenticationManager)
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .httpBasic(Customizer.withDefaults())
+                .addFilterAt(bearerTokenAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
                 .exceptionHandling(configurer -> configurer
                         .authenticationEntryPoint(authenticationEntryPoint)
                         .accessDeniedHandler(accessDeniedHandler));
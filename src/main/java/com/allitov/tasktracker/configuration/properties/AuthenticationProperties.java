@@ -0,0 +1,41 @@
+package com.allitov.tasktracker.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.authentication")
+public class AuthenticationProperties {
+
+    private Cache cache = new Cache();
+
+    private PasswordEncoder passwordEncoder = new PasswordEncoder();
+
+    private Token token = new Token();
+
+    @Data
+    public static class Cache {
+
+        private long maximumSize = 10_000;
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class PasswordEncoder {
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 1_000;
+    }
+
+    @Data
+    public static class Token {
+
+        private String secret;
+
+        private Duration timeToLive = Duration.ofMinutes(15);
+    }
+}
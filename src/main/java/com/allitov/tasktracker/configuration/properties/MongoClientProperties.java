@@ -0,0 +1,51 @@
+package com.allitov.tasktracker.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.mongo")
+public class MongoClientProperties {
+
+    private Pool pool = new Pool();
+
+    private Socket socket = new Socket();
+
+    private List<Compressor> compressors = new ArrayList<>();
+
+    private String readPreference;
+
+    @Data
+    public static class Pool {
+
+        private Integer minSize;
+
+        private Integer maxSize;
+
+        private Integer maxConnecting;
+
+        private Duration maxWaitTime;
+
+        private Duration maxConnectionIdleTime;
+
+        private Duration maxConnectionLifeTime;
+    }
+
+    @Data
+    public static class Socket {
+
+        private Duration connectTimeout;
+
+        private Duration readTimeout;
+    }
+
+    public enum Compressor {
+        ZSTD,
+        SNAPPY,
+        ZLIB
+    }
+}
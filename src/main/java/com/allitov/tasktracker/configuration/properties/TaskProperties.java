@@ -0,0 +1,35 @@
+package com.allitov.tasktracker.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.task")
+public class TaskProperties {
+
+    private int hydrationWindowSize = 500;
+
+    private int defaultPageSize = 100;
+
+    private int maxPageSize = 1000;
+
+    private HydrationMode hydrationMode = HydrationMode.APPLICATION;
+
+    private boolean backfillUserSummaries = false;
+
+    private Duration eventHeartbeatInterval = Duration.ofSeconds(15);
+
+    private int eventBufferSize = 256;
+
+    private Duration eventReplayTimeout = Duration.ofSeconds(30);
+
+    private int batchChunkSize = 500;
+
+    public enum HydrationMode {
+        APPLICATION,
+        EMBEDDED,
+        LOOKUP
+    }
+}
@@ -0,0 +1,13 @@
+package com.allitov.tasktracker.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,35 @@
+package com.allitov.tasktracker.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.user")
+public class UserProperties {
+
+    private int defaultPageSize = 100;
+
+    private int maxPageSize = 1000;
+
+    private Cache cache = new Cache();
+
+    private Batch batch = new Batch();
+
+    @Data
+    public static class Cache {
+
+        private long maximumSize = 10_000;
+
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Batch {
+
+        private Duration window = Duration.ofMillis(2);
+
+        private int maxSize = 1_000;
+    }
+}
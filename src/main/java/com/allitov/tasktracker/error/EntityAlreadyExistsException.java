@@ -0,0 +1,11 @@
+package com.allitov.tasktracker.error;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class EntityAlreadyExistsException extends RuntimeException {
+
+    public EntityAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -9,12 +9,18 @@ public class ExceptionMessage {
 
     public final String ACCESS_DENIED = "No required authorities";
 
+    public final String INVALID_TOKEN = "Invalid or expired token";
+
     public final String USER_DATA_ILLEGAL_ACCESS = "User with id = '%s' cannot change data of user with id = '%s'";
 
     public final String USER_BY_ID_NOT_FOUND = "User with id '%s' not found";
 
     public final String USER_BY_USERNAME_NOT_FOUND = "User with username '%s' not found";
 
+    public final String USER_BY_USERNAME_ALREADY_EXISTS = "User with username '%s' already exists";
+
+    public final String USER_VERSION_MISMATCH = "User with id '%s' does not match the 'If-Match' entity tag";
+
     public final String USER_INVALID_USERNAME = "Username must not be blank";
 
     public final String USER_NULL_EMAIL = "Email must be specified";
@@ -29,6 +35,8 @@ public class ExceptionMessage {
 
     public final String TASK_BY_ID_NOT_FOUND = "Task with id '%s' not found";
 
+    public final String TASK_VERSION_MISMATCH = "Task with id '%s' does not match the 'If-Match' entity tag";
+
     public final String TASK_INVALID_NAME = "Task name must not be blank";
 
     public final String TASK_NULL_DESCRIPTION = "Task description must be specified";
@@ -42,4 +50,14 @@ public class ExceptionMessage {
     public final String TASK_NULL_ASSIGNEE_ID = "Task assignee id must be specified";
 
     public final String TASK_NULL_OBSERVER_IDS = "Task observer ids must be specified";
+
+    public final String TASK_INVALID_FIELDS = "Task fields must be any of ['id', 'name', 'description', " +
+            "'createdAt', 'updatedAt', 'status', 'author', 'assignee', 'observers'] " +
+            "or a user field of a relation, e.g. 'assignee.username'";
+
+    public final String DUPLICATE_KEY = "Duplicate key error collection: '%s' index: '%s' dup key: '%s'";
+
+    public final String VERSION_CONFLICT = "Version of entity with id '%s' in collection '%s' does not match";
+
+    public final String NEGATIVE_QUERY_LIMIT = "Query limit must not be negative";
 }
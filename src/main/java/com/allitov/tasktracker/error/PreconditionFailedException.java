@@ -0,0 +1,11 @@
+package com.allitov.tasktracker.error;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,69 @@
+package com.allitov.tasktracker.job;
+
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class MongoIndexProvisioner {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        log.info("Provisioning MongoDB indexes");
+        provision().subscribe(
+                count -> log.info("Provisioned {} MongoDB indexes", count),
+                error -> log.error("Failed to provision MongoDB indexes", error)
+        );
+    }
+
+    public Mono<Long> provision() {
+        return Flux
+                .concat(
+                        ensureIndex(User.class, new Index().on("username", Sort.Direction.ASC).unique()),
+                        ensureIndex(Task.class, new Index().on("assigneeId", Sort.Direction.ASC)),
+                        ensureIndex(Task.class, new Index().on("authorId", Sort.Direction.ASC)),
+                        ensureIndex(Task.class, new Index().on("observerIds", Sort.Direction.ASC)),
+                        ensureIndex(Task.class, new Index()
+                                .on("status", Sort.Direction.ASC)
+                                .on("updatedAt", Sort.Direction.ASC)),
+                        ensureIndex(Task.class, new Index().on("authorSummary._id", Sort.Direction.ASC).sparse()),
+                        ensureIndex(Task.class, new Index().on("assigneeSummary._id", Sort.Direction.ASC).sparse()),
+                        ensureIndex(Task.class, new Index().on("observerSummaries._id", Sort.Direction.ASC).sparse())
+                )
+                .count();
+    }
+
+    private Mono<String> ensureIndex(Class<?> entityClass, Index index) {
+        String collectionName = mongoTemplate.getCollectionName(entityClass);
+        String keys = index.getIndexKeys().toJson();
+
+        return mongoTemplate.indexOps(entityClass)
+                .ensureIndex(index)
+                .doOnSubscribe(subscription -> log.info("Building index {} on '{}'", keys, collectionName))
+                .elapsed()
+                .map(elapsed -> {
+                    log.info("Index '{}' on '{}' is ready in {} ms",
+                            elapsed.getT2(), collectionName, elapsed.getT1());
+                    return elapsed.getT2();
+                })
+                .onErrorResume(error -> {
+                    log.error("Failed to build index {} on '{}'", keys, collectionName, error);
+                    return Mono.empty();
+                });
+    }
+}
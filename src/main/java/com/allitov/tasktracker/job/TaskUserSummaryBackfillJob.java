@@ -0,0 +1,86 @@
+package com.allitov.tasktracker.job;
+
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskUserSummaryBackfillJob implements ApplicationRunner {
+
+    private final TaskRepository taskRepository;
+
+    private final UserService userService;
+
+    private final TaskProperties taskProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!taskProperties.isBackfillUserSummaries()) {
+            return;
+        }
+
+        log.info("Backfilling user summaries of tasks");
+        backfill().subscribe(
+                count -> log.info("Backfilled user summaries of {} tasks", count),
+                error -> log.error("Failed to backfill user summaries of tasks", error)
+        );
+    }
+
+    public Mono<Long> backfill() {
+        return taskRepository.findAllByAuthorSummaryIsNull()
+                .buffer(taskProperties.getHydrationWindowSize())
+                .concatMap(this::backfillWindow)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> backfillWindow(List<Task> tasks) {
+        Set<String> userIds = new HashSet<>();
+        tasks.forEach(task -> {
+            userIds.add(task.getAuthorId());
+            userIds.add(task.getAssigneeId());
+            userIds.addAll(task.getObserverIds());
+        });
+        userIds.remove(null);
+
+        return userService.findAllByIdsIn(userIds)
+                .collectMap(User::getId, Function.identity())
+                .flatMap(users -> {
+                    List<Task> resolvedTasks = tasks.stream()
+                            .filter(task -> users.containsKey(task.getAuthorId()) &&
+                                    users.containsKey(task.getAssigneeId()))
+                            .peek(task -> embedUserSummaries(task, users))
+                            .toList();
+                    log.debug("Backfilling user summaries of {} of {} tasks", resolvedTasks.size(), tasks.size());
+                    return taskRepository.saveUserSummaries(resolvedTasks);
+                })
+                .map(Integer::longValue);
+    }
+
+    private void embedUserSummaries(Task task, Map<String, User> users) {
+        task.setAuthor(users.get(task.getAuthorId()));
+        task.setAssignee(users.get(task.getAssigneeId()));
+        task.setObservers(task.getObserverIds().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        task.embedUserSummaries();
+    }
+}
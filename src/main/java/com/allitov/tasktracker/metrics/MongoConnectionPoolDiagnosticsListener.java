@@ -0,0 +1,37 @@
+package com.allitov.tasktracker.metrics;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class MongoConnectionPoolDiagnosticsListener implements ConnectionPoolListener {
+
+    private static final String METRIC_NAME = "app.mongo.pool.checkout.failures";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        Counter.builder(METRIC_NAME)
+                .tag("server", event.getServerId().getAddress().toString())
+                .tag("reason", event.getReason().name())
+                .register(meterRegistry)
+                .increment();
+
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            log.warn("Connection check out from pool of '{}' timed out after {} ms",
+                    event.getServerId().getAddress(),
+                    event.getElapsedTime(TimeUnit.MILLISECONDS));
+        } else {
+            log.warn("Connection check out from pool of '{}' failed: {}",
+                    event.getServerId().getAddress(), event.getReason());
+        }
+    }
+}
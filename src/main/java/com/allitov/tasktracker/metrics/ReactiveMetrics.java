@@ -0,0 +1,49 @@
+package com.allitov.tasktracker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.experimental.UtilityClass;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@UtilityClass
+public class ReactiveMetrics {
+
+    public final String OUTCOME_SUCCESS = "SUCCESS";
+
+    public final String OUTCOME_ERROR = "ERROR";
+
+    public final String OUTCOME_CANCELLED = "CANCELLED";
+
+    private final String NO_EXCEPTION = "none";
+
+    public <T> Mono<T> timed(Mono<T> mono, MeterRegistry meterRegistry, String name, Tags tags) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(value -> stop(sample, meterRegistry, name, tags, OUTCOME_SUCCESS, null))
+                    .doOnError(error -> stop(sample, meterRegistry, name, tags, OUTCOME_ERROR, error))
+                    .doOnCancel(() -> stop(sample, meterRegistry, name, tags, OUTCOME_CANCELLED, null));
+        });
+    }
+
+    public <T> Flux<T> timed(Flux<T> flux, MeterRegistry meterRegistry, String name, Tags tags) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return flux
+                    .doOnComplete(() -> stop(sample, meterRegistry, name, tags, OUTCOME_SUCCESS, null))
+                    .doOnError(error -> stop(sample, meterRegistry, name, tags, OUTCOME_ERROR, error))
+                    .doOnCancel(() -> stop(sample, meterRegistry, name, tags, OUTCOME_CANCELLED, null));
+        });
+    }
+
+    private void stop(Timer.Sample sample, MeterRegistry meterRegistry, String name, Tags tags,
+                      String outcome, Throwable error) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", error == null ? NO_EXCEPTION : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+}
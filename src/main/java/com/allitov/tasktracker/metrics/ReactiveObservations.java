@@ -0,0 +1,30 @@
+package com.allitov.tasktracker.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.experimental.UtilityClass;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@UtilityClass
+public class ReactiveObservations {
+
+    public final String TASK_STAGE = "app.task.stage";
+
+    private final String STAGE_KEY = "stage";
+
+    public <T> Mono<T> observed(Mono<T> mono, ObservationRegistry observationRegistry, String name, String stage) {
+        return mono.tap(Micrometer.observation(observationRegistry, registry -> createObservation(registry, name, stage)));
+    }
+
+    public <T> Flux<T> observed(Flux<T> flux, ObservationRegistry observationRegistry, String name, String stage) {
+        return flux.tap(Micrometer.observation(observationRegistry, registry -> createObservation(registry, name, stage)));
+    }
+
+    private Observation createObservation(ObservationRegistry registry, String name, String stage) {
+        return Observation.createNotStarted(name, registry)
+                .contextualName(name + " " + stage)
+                .lowCardinalityKeyValue(STAGE_KEY, stage);
+    }
+}
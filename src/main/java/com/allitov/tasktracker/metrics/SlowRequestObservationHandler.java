@@ -0,0 +1,106 @@
+package com.allitov.tasktracker.metrics;
+
+import com.allitov.tasktracker.configuration.properties.TracingProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowRequestObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String START_TIME_KEY = SlowRequestObservationHandler.class.getName() + ".startTime";
+
+    private static final String STAGES_KEY = SlowRequestObservationHandler.class.getName() + ".stages";
+
+    private final TracingProperties tracingProperties;
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START_TIME_KEY, System.nanoTime());
+        if (context instanceof ServerRequestObservationContext) {
+            context.put(STAGES_KEY, new ConcurrentLinkedQueue<Stage>());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long startTime = context.get(START_TIME_KEY);
+        if (startTime == null) {
+            return;
+        }
+        long endTime = System.nanoTime();
+
+        if (context instanceof ServerRequestObservationContext requestContext) {
+            logIfSlow(requestContext, startTime, endTime);
+            return;
+        }
+
+        int depth = 0;
+        ObservationView parent = context.getParentObservation();
+        while (parent != null) {
+            Queue<Stage> stages = parent.getContextView().get(STAGES_KEY);
+            if (stages != null) {
+                String name = context.getContextualName() != null ? context.getContextualName() : context.getName();
+                stages.add(new Stage(name, depth, startTime, endTime - startTime));
+                return;
+            }
+            depth++;
+            parent = parent.getContextView().getParentObservation();
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    private void logIfSlow(ServerRequestObservationContext context, long startTime, long endTime) {
+        long duration = endTime - startTime;
+        if (duration < tracingProperties.getSlowRequestThreshold().toNanos()) {
+            return;
+        }
+
+        Queue<Stage> stages = context.get(STAGES_KEY);
+        StringBuilder breakdown = new StringBuilder();
+        stages.stream()
+                .sorted(Comparator.comparingLong(Stage::getStartTime))
+                .forEach(stage -> breakdown.append(System.lineSeparator())
+                        .append("  ".repeat(stage.getDepth() + 1))
+                        .append(String.format("+%d ms %s took %d ms",
+                                TimeUnit.NANOSECONDS.toMillis(stage.getStartTime() - startTime),
+                                stage.getName(),
+                                TimeUnit.NANOSECONDS.toMillis(stage.getDuration()))));
+
+        log.warn("Slow request {} {} took {} ms:{}",
+                context.getCarrier().getMethod(),
+                context.getCarrier().getPath().value(),
+                TimeUnit.NANOSECONDS.toMillis(duration),
+                breakdown);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Stage {
+
+        private final String name;
+
+        private final int depth;
+
+        private final long startTime;
+
+        private final long duration;
+    }
+}
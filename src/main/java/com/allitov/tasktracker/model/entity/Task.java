@@ -6,12 +6,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -50,6 +52,15 @@ public class Task {
     @Builder.Default
     private Set<User> observers = new HashSet<>();
 
+    private UserSummary authorSummary;
+
+    private UserSummary assigneeSummary;
+
+    private Set<UserSummary> observerSummaries;
+
+    @Version
+    private Long version;
+
     public void addObserverId(String id) {
         observerIds.add(id);
     }
@@ -58,6 +69,38 @@ public class Task {
         observerIds.remove(id);
     }
 
+    public boolean hasUserSummaries() {
+        return hasUserSummaries(TaskFields.all());
+    }
+
+    public boolean hasUserSummaries(TaskFields fields) {
+        return (!fields.includes(TaskFields.AUTHOR) || authorSummary != null) &&
+                (!fields.includes(TaskFields.ASSIGNEE) || assigneeSummary != null) &&
+                (!fields.includes(TaskFields.OBSERVERS) || observerSummaries != null);
+    }
+
+    public void embedUserSummaries() {
+        authorSummary = UserSummary.from(author);
+        assigneeSummary = UserSummary.from(assignee);
+        observerSummaries = observers.stream()
+                .map(UserSummary::from)
+                .collect(Collectors.toSet());
+    }
+
+    public void expandUserSummaries() {
+        if (authorSummary != null) {
+            author = authorSummary.toUser();
+        }
+        if (assigneeSummary != null) {
+            assignee = assigneeSummary.toUser();
+        }
+        if (observerSummaries != null) {
+            observers = observerSummaries.stream()
+                    .map(UserSummary::toUser)
+                    .collect(Collectors.toSet());
+        }
+    }
+
     public enum TaskStatus {
         TODO,
         IN_PROGRESS,
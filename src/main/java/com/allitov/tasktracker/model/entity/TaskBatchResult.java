@@ -0,0 +1,40 @@
+package com.allitov.tasktracker.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResult {
+
+    private long index;
+
+    private String taskId;
+
+    private Status status;
+
+    private String errorMessage;
+
+    public static TaskBatchResult created(long index, String taskId) {
+        return new TaskBatchResult(index, taskId, Status.CREATED, null);
+    }
+
+    public static TaskBatchResult failed(long index, String errorMessage) {
+        return new TaskBatchResult(index, null, Status.FAILED, errorMessage);
+    }
+
+    public void fail(String errorMessage) {
+        this.taskId = null;
+        this.status = Status.FAILED;
+        this.errorMessage = errorMessage;
+    }
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
@@ -0,0 +1,27 @@
+package com.allitov.tasktracker.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeEvent {
+
+    private String id;
+
+    private Type type;
+
+    private String taskId;
+
+    private Task task;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
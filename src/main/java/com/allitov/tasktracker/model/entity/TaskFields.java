@@ -0,0 +1,112 @@
+package com.allitov.tasktracker.model.entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class TaskFields {
+
+    public static final String ID = "id";
+
+    public static final String NAME = "name";
+
+    public static final String DESCRIPTION = "description";
+
+    public static final String CREATED_AT = "createdAt";
+
+    public static final String UPDATED_AT = "updatedAt";
+
+    public static final String STATUS = "status";
+
+    public static final String AUTHOR = "author";
+
+    public static final String ASSIGNEE = "assignee";
+
+    public static final String OBSERVERS = "observers";
+
+    public static final Set<String> TASK_FIELDS =
+            Set.of(ID, NAME, DESCRIPTION, CREATED_AT, UPDATED_AT, STATUS, AUTHOR, ASSIGNEE, OBSERVERS);
+
+    public static final Set<String> USER_RELATIONS = Set.of(AUTHOR, ASSIGNEE, OBSERVERS);
+
+    public static final Set<String> USER_FIELDS = Set.of("id", "username", "email", "roles");
+
+    private static final TaskFields ALL = new TaskFields(null);
+
+    private final Map<String, Set<String>> fields;
+
+    private TaskFields(Map<String, Set<String>> fields) {
+        this.fields = fields;
+    }
+
+    public static TaskFields all() {
+        return ALL;
+    }
+
+    public static TaskFields parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return ALL;
+        }
+        if (!isValid(expression)) {
+            throw new IllegalArgumentException("Invalid task fields: " + expression);
+        }
+
+        Map<String, Set<String>> fields = new HashMap<>();
+        splitPaths(expression).forEach(path -> {
+            int separator = path.indexOf('.');
+            if (separator < 0) {
+                fields.put(path, null);
+                return;
+            }
+
+            String relation = path.substring(0, separator);
+            if (!fields.containsKey(relation) || fields.get(relation) != null) {
+                fields.computeIfAbsent(relation, key -> new HashSet<>()).add(path.substring(separator + 1));
+            }
+        });
+
+        return new TaskFields(Collections.unmodifiableMap(fields));
+    }
+
+    public static boolean isValid(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return true;
+        }
+
+        return splitPaths(expression).allMatch(path -> {
+            int separator = path.indexOf('.');
+            if (separator < 0) {
+                return TASK_FIELDS.contains(path);
+            }
+
+            return USER_RELATIONS.contains(path.substring(0, separator)) &&
+                    USER_FIELDS.contains(path.substring(separator + 1));
+        });
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    public Set<String> getTaskFields() {
+        return fields == null ? TASK_FIELDS : fields.keySet();
+    }
+
+    public Set<String> getUserFields(String relation) {
+        return fields == null ? null : fields.get(relation);
+    }
+
+    private static Stream<String> splitPaths(String expression) {
+        return Arrays.stream(expression.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package com.allitov.tasktracker.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private Task.TaskStatus status;
+
+    private String assigneeId;
+
+    private String authorId;
+
+    private String observerId;
+
+    private Instant updatedFrom;
+
+    private Instant updatedTo;
+
+    public boolean matches(Task task) {
+        return (status == null || status == task.getStatus()) &&
+                (assigneeId == null || assigneeId.equals(task.getAssigneeId())) &&
+                (authorId == null || authorId.equals(task.getAuthorId())) &&
+                (observerId == null || task.getObserverIds().contains(observerId)) &&
+                (updatedFrom == null || !task.getUpdatedAt().isBefore(updatedFrom)) &&
+                (updatedTo == null || task.getUpdatedAt().isBefore(updatedTo));
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.HashSet;
@@ -28,4 +29,7 @@ public class User {
 
     @Builder.Default
     private Set<RoleType> roles = new HashSet<>();
+
+    @Version
+    private Long version;
 }
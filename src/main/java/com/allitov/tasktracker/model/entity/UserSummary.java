@@ -0,0 +1,40 @@
+package com.allitov.tasktracker.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private String id;
+
+    private String username;
+
+    private String email;
+
+    private Set<RoleType> roles;
+
+    private Long version;
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getEmail(), user.getRoles(),
+                user.getVersion());
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .roles(roles)
+                .version(version)
+                .build();
+    }
+}
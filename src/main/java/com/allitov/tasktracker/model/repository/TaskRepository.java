@@ -1,7 +1,20 @@
 package com.allitov.tasktracker.model.repository;
 
 import com.allitov.tasktracker.model.entity.Task;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public interface TaskRepository extends ReactiveMongoRepository<Task, String> {
+import java.util.Collection;
+
+public interface TaskRepository extends ReactiveMongoRepository<Task, String>, TaskRepositoryCustom {
+
+    Flux<Task> findAllByAuthorSummaryIsNull();
+
+    @Query(fields = "{'_id': 1}")
+    Flux<Task> findAllByIdIn(Collection<String> ids);
+
+    @Query(fields = "{'version': 1}")
+    Mono<Task> findVersionById(String id);
 }
@@ -0,0 +1,66 @@
+package com.allitov.tasktracker.model.repository;
+
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.UserSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    Flux<Task> findAllByFilter(TaskFilter filter);
+
+    Flux<Task> findAllByFilter(TaskFilter filter, TaskFields fields);
+
+    Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit);
+
+    Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit, TaskFields fields);
+
+    Flux<Task> findAllWithUsers(TaskFilter filter);
+
+    Flux<Task> findAllWithUsers(TaskFilter filter, TaskFields fields);
+
+    Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit);
+
+    Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit, TaskFields fields);
+
+    Mono<Task> findById(String id, TaskFields fields);
+
+    Flux<Task> findVersionsByFilter(TaskFilter filter);
+
+    Flux<Task> findVersionsByFilterAfter(TaskFilter filter, String after, int limit);
+
+    Mono<Task> findByIdWithUsers(String id);
+
+    Mono<Task> findByIdWithUsers(String id, TaskFields fields);
+
+    Flux<TaskChangeEvent> watch(String resumeToken);
+
+    Mono<Map<Integer, String>> insertAllUnordered(List<Task> tasks);
+
+    Mono<Task> updateFields(Task task);
+
+    Mono<Task> updateFields(Task task, Long expectedVersion);
+
+    Mono<Task> addObserverId(String taskId, String observerId, UserSummary observerSummary,
+                             Instant updatedAt, Long expectedVersion);
+
+    Mono<Task> addObserverIds(String taskId, Collection<String> observerIds,
+                              Collection<UserSummary> observerSummaries, Instant updatedAt, Long expectedVersion);
+
+    Mono<Long> addObserverIdsToAll(Collection<String> taskIds, Collection<String> observerIds,
+                                   Collection<UserSummary> observerSummaries, Instant updatedAt);
+
+    Mono<Task> removeObserverId(String taskId, String observerId, Instant updatedAt, Long expectedVersion);
+
+    Mono<Long> updateUserSummaries(UserSummary summary);
+
+    Mono<Integer> saveUserSummaries(Collection<Task> tasks);
+}
@@ -1,10 +1,34 @@
 package com.allitov.tasktracker.model.repository;
 
 import com.allitov.tasktracker.model.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
+public interface UserRepository extends ReactiveMongoRepository<User, String>, UserRepositoryCustom {
 
     Mono<User> findByUsername(String username);
+
+    @Query(fields = "{'password': 0}")
+    Flux<User> findAllBy();
+
+    @Query(fields = "{'password': 0}")
+    Flux<User> findAllBy(Pageable pageable);
+
+    @Query(fields = "{'password': 0}")
+    Flux<User> findAllByIdGreaterThan(String id, Pageable pageable);
+
+    @Query(fields = "{'version': 1}")
+    Mono<User> findVersionById(String id);
+
+    @Query(fields = "{'version': 1}")
+    Flux<User> findVersionsBy();
+
+    @Query(fields = "{'version': 1}")
+    Flux<User> findVersionsBy(Pageable pageable);
+
+    @Query(fields = "{'version': 1}")
+    Flux<User> findVersionsByIdGreaterThan(String id, Pageable pageable);
 }
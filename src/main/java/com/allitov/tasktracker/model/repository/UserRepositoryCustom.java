@@ -0,0 +1,11 @@
+package com.allitov.tasktracker.model.repository;
+
+import com.allitov.tasktracker.model.entity.User;
+import reactor.core.publisher.Mono;
+
+public interface UserRepositoryCustom {
+
+    Mono<User> updateFields(User user);
+
+    Mono<User> updateFields(User user, Long expectedVersion);
+}
@@ -0,0 +1,465 @@
+package com.allitov.tasktracker.model.repository.impl;
+
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.entity.UserSummary;
+import com.allitov.tasktracker.model.repository.TaskRepositoryCustom;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Task> findAllByFilter(TaskFilter filter) {
+        return findAllByFilter(filter, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllByFilter(TaskFilter filter, TaskFields fields) {
+        return mongoTemplate.find(project(Query.query(toCriteria(filter)), fields), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit) {
+        return findAllByFilterAfter(filter, after, limit, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit, TaskFields fields) {
+        return mongoTemplate.find(project(pageQuery(filter, after, limit), fields), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsers(TaskFilter filter) {
+        return findAllWithUsers(filter, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsers(TaskFilter filter, TaskFields fields) {
+        return aggregateWithUsers(List.of(Aggregation.match(toCriteria(filter))), fields);
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit) {
+        return findAllWithUsersAfter(filter, after, limit, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit, TaskFields fields) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(toCriteria(filter)));
+        if (after != null) {
+            operations.add(Aggregation.match(Criteria.where("_id").gt(toObjectId(after))));
+        }
+        operations.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        operations.add(Aggregation.limit(limit));
+
+        return aggregateWithUsers(operations, fields);
+    }
+
+    @Override
+    public Mono<Task> findById(String id, TaskFields fields) {
+        return mongoTemplate.findOne(project(Query.query(Criteria.where("id").is(id)), fields), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findVersionsByFilter(TaskFilter filter) {
+        return mongoTemplate.find(projectVersion(Query.query(toCriteria(filter))), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findVersionsByFilterAfter(TaskFilter filter, String after, int limit) {
+        return mongoTemplate.find(projectVersion(pageQuery(filter, after, limit)), Task.class);
+    }
+
+    @Override
+    public Mono<Task> findByIdWithUsers(String id) {
+        return findByIdWithUsers(id, TaskFields.all());
+    }
+
+    @Override
+    public Mono<Task> findByIdWithUsers(String id, TaskFields fields) {
+        return aggregateWithUsers(List.of(Aggregation.match(Criteria.where("_id").is(toObjectId(id)))), fields)
+                .next();
+    }
+
+    @Override
+    public Flux<TaskChangeEvent> watch(String resumeToken) {
+        return mongoTemplate.changeStream(Task.class)
+                .withOptions(options -> {
+                    options.returnFullDocumentOnUpdate();
+                    if (resumeToken != null) {
+                        options.resumeAfter(new BsonDocument("_data", new BsonString(resumeToken)));
+                    }
+                })
+                .watchCollection(Task.class)
+                .listen()
+                .mapNotNull(this::toTaskChangeEvent);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)
+                .insert(tasks)
+                .execute()
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(error -> {
+                    MongoBulkWriteException bulkWriteException = findBulkWriteException(error);
+                    if (bulkWriteException == null) {
+                        return Mono.error(error);
+                    }
+
+                    return Mono.just(bulkWriteException.getWriteErrors().stream()
+                            .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage)));
+                });
+    }
+
+    @Override
+    public Mono<Task> updateFields(Task task) {
+        return updateFields(task, null);
+    }
+
+    @Override
+    public Mono<Task> updateFields(Task task, Long expectedVersion) {
+        Update update = new Update()
+                .set("name", task.getName())
+                .set("description", task.getDescription())
+                .set("status", task.getStatus())
+                .set("assigneeId", task.getAssigneeId())
+                .set("updatedAt", task.getUpdatedAt());
+        if (task.getAssigneeSummary() != null) {
+            update.set("assigneeSummary", task.getAssigneeSummary());
+        }
+
+        return mongoTemplate.findAndModify(
+                projectVersion(VersionCriteria.byIdAndVersion(task.getId(), expectedVersion)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Task.class
+        );
+    }
+
+    @Override
+    public Mono<Task> addObserverId(String taskId, String observerId, UserSummary observerSummary,
+                                    Instant updatedAt, Long expectedVersion) {
+        Update update = new Update()
+                .addToSet("observerIds", observerId)
+                .set("updatedAt", updatedAt);
+        if (observerSummary != null) {
+            update.addToSet("observerSummaries", observerSummary);
+        }
+
+        return mongoTemplate.findAndModify(
+                VersionCriteria.byIdAndVersion(taskId, expectedVersion),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Task.class
+        );
+    }
+
+    @Override
+    public Mono<Task> addObserverIds(String taskId, Collection<String> observerIds,
+                                     Collection<UserSummary> observerSummaries, Instant updatedAt,
+                                     Long expectedVersion) {
+        return mongoTemplate.findAndModify(
+                VersionCriteria.byIdAndVersion(taskId, expectedVersion),
+                addObserverIdsUpdate(observerIds, observerSummaries, updatedAt),
+                FindAndModifyOptions.options().returnNew(true),
+                Task.class
+        );
+    }
+
+    @Override
+    public Mono<Long> addObserverIdsToAll(Collection<String> taskIds, Collection<String> observerIds,
+                                          Collection<UserSummary> observerSummaries, Instant updatedAt) {
+        return mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(taskIds)),
+                addObserverIdsUpdate(observerIds, observerSummaries, updatedAt),
+                Task.class
+        ).map(UpdateResult::getMatchedCount);
+    }
+
+    @Override
+    public Mono<Task> removeObserverId(String taskId, String observerId, Instant updatedAt, Long expectedVersion) {
+        Update update = new Update()
+                .pull("observerIds", observerId)
+                .pull("observerSummaries", Query.query(Criteria.where("id").is(observerId)))
+                .set("updatedAt", updatedAt);
+
+        return mongoTemplate.findAndModify(
+                VersionCriteria.byIdAndVersion(taskId, expectedVersion),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Task.class
+        );
+    }
+
+    @Override
+    public Mono<Long> updateUserSummaries(UserSummary summary) {
+        return Flux
+                .concat(
+                        updateUserSummary("authorSummary", summary),
+                        updateUserSummary("assigneeSummary", summary),
+                        updateObserverSummary(summary)
+                )
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Integer> saveUserSummaries(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        ReactiveBulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        tasks.forEach(task -> operations.updateOne(
+                Query.query(Criteria.where("id").is(task.getId())),
+                new Update()
+                        .set("authorSummary", task.getAuthorSummary())
+                        .set("assigneeSummary", task.getAssigneeSummary())
+                        .set("observerSummaries", task.getObserverSummaries())
+                        .inc("version", 1)
+        ));
+
+        return operations.execute().map(BulkWriteResult::getModifiedCount);
+    }
+
+    private Update addObserverIdsUpdate(Collection<String> observerIds,
+                                        Collection<UserSummary> observerSummaries, Instant updatedAt) {
+        Update update = new Update().set("updatedAt", updatedAt);
+        update.addToSet("observerIds").each(observerIds.toArray());
+        if (observerSummaries != null) {
+            update.addToSet("observerSummaries").each(observerSummaries.toArray());
+        }
+
+        return update;
+    }
+
+    private Mono<Long> updateUserSummary(String field, UserSummary summary) {
+        Query query = Query.query(Criteria.where(field + ".id").is(summary.getId())
+                .orOperator(
+                        Criteria.where(field + ".version").lt(summary.getVersion()),
+                        Criteria.where(field + ".version").exists(false)
+                ));
+        Update update = new Update()
+                .set(field + ".username", summary.getUsername())
+                .set(field + ".email", summary.getEmail())
+                .set(field + ".roles", summary.getRoles())
+                .set(field + ".version", summary.getVersion());
+
+        return mongoTemplate.updateMulti(query, update, Task.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    private Mono<Long> updateObserverSummary(UserSummary summary) {
+        Query query = Query.query(Criteria.where("observerSummaries").elemMatch(
+                Criteria.where("id").is(summary.getId())
+                        .orOperator(
+                                Criteria.where("version").lt(summary.getVersion()),
+                                Criteria.where("version").exists(false)
+                        )
+        ));
+        Update update = new Update()
+                .set("observerSummaries.$.username", summary.getUsername())
+                .set("observerSummaries.$.email", summary.getEmail())
+                .set("observerSummaries.$.roles", summary.getRoles())
+                .set("observerSummaries.$.version", summary.getVersion());
+
+        return mongoTemplate.updateMulti(query, update, Task.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    private MongoBulkWriteException findBulkWriteException(Throwable error) {
+        Throwable cause = error;
+        while (cause != null && !(cause instanceof MongoBulkWriteException)) {
+            cause = cause.getCause();
+        }
+
+        return (MongoBulkWriteException) cause;
+    }
+
+    private TaskChangeEvent toTaskChangeEvent(ChangeStreamEvent<Task> event) {
+        TaskChangeEvent.Type type = switch (event.getOperationType()) {
+            case INSERT -> TaskChangeEvent.Type.CREATED;
+            case UPDATE, REPLACE -> TaskChangeEvent.Type.UPDATED;
+            case DELETE -> TaskChangeEvent.Type.DELETED;
+            default -> null;
+        };
+        if (type == null) {
+            return null;
+        }
+
+        BsonValue taskId = event.getRaw().getDocumentKey().get("_id");
+        return TaskChangeEvent.builder()
+                .id(event.getResumeToken().asDocument().getString("_data").getValue())
+                .type(type)
+                .taskId(taskId.isObjectId() ? taskId.asObjectId().getValue().toHexString() : taskId.asString().getValue())
+                .task(type == TaskChangeEvent.Type.DELETED ? null : event.getBody())
+                .build();
+    }
+
+    private Criteria toCriteria(TaskFilter filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("status").is(filter.getStatus().name()));
+        }
+        if (filter.getAssigneeId() != null) {
+            criteria.add(Criteria.where("assigneeId").is(filter.getAssigneeId()));
+        }
+        if (filter.getAuthorId() != null) {
+            criteria.add(Criteria.where("authorId").is(filter.getAuthorId()));
+        }
+        if (filter.getObserverId() != null) {
+            criteria.add(Criteria.where("observerIds").is(filter.getObserverId()));
+        }
+        if (filter.getUpdatedFrom() != null) {
+            criteria.add(Criteria.where("updatedAt").gte(filter.getUpdatedFrom()));
+        }
+        if (filter.getUpdatedTo() != null) {
+            criteria.add(Criteria.where("updatedAt").lt(filter.getUpdatedTo()));
+        }
+
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+
+    private Query project(Query query, TaskFields fields) {
+        if (!fields.isAll()) {
+            fields.getTaskFields().forEach(field -> query.fields().include(toDocumentFields(field)));
+            query.fields().include("version");
+        }
+
+        return query;
+    }
+
+    private Query pageQuery(TaskFilter filter, String after, int limit) {
+        Query query = Query.query(toCriteria(filter))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        if (after != null) {
+            query.addCriteria(Criteria.where("id").gt(after));
+        }
+
+        return query;
+    }
+
+    private Query projectVersion(Query query) {
+        query.fields().include("version");
+
+        return query;
+    }
+
+    private String[] toDocumentFields(String field) {
+        return switch (field) {
+            case TaskFields.AUTHOR -> new String[] {"authorId", "authorSummary"};
+            case TaskFields.ASSIGNEE -> new String[] {"assigneeId", "assigneeSummary"};
+            case TaskFields.OBSERVERS -> new String[] {"observerIds", "observerSummaries"};
+            case TaskFields.ID -> new String[] {"_id"};
+            default -> new String[] {field};
+        };
+    }
+
+    private Flux<Task> aggregateWithUsers(List<AggregationOperation> taskOperations, TaskFields fields) {
+        String users = mongoTemplate.getCollectionName(User.class);
+        List<AggregationOperation> operations = new ArrayList<>(taskOperations);
+        if (!fields.isAll()) {
+            Document projection = new Document();
+            fields.getTaskFields().stream()
+                    .flatMap(field -> Arrays.stream(toDocumentFields(field)))
+                    .forEach(field -> projection.append(field, 1));
+            projection.append("version", 1);
+            operations.add(Aggregation.stage(new Document("$project", projection)));
+        }
+
+        Document objectIds = new Document();
+        List<String> unsetFields = new ArrayList<>();
+        if (fields.includes(TaskFields.AUTHOR)) {
+            objectIds.append("authorObjectId", toObjectIdExpression("$authorId"));
+            unsetFields.addAll(List.of("authorObjectId", "author.password"));
+        }
+        if (fields.includes(TaskFields.ASSIGNEE)) {
+            objectIds.append("assigneeObjectId", toObjectIdExpression("$assigneeId"));
+            unsetFields.addAll(List.of("assigneeObjectId", "assignee.password"));
+        }
+        if (fields.includes(TaskFields.OBSERVERS)) {
+            objectIds.append("observerObjectIds", new Document("$map", new Document()
+                    .append("input", new Document("$ifNull", List.of("$observerIds", List.of())))
+                    .append("as", "observerId")
+                    .append("in", toObjectIdExpression("$$observerId"))));
+            unsetFields.addAll(List.of("observerObjectIds", "observers.password"));
+        }
+        if (!objectIds.isEmpty()) {
+            operations.add(Aggregation.stage(new Document("$addFields", objectIds)));
+        }
+        if (fields.includes(TaskFields.AUTHOR)) {
+            operations.add(Aggregation.lookup(users, "authorObjectId", "_id", "author"));
+            operations.add(Aggregation.unwind("author", true));
+        }
+        if (fields.includes(TaskFields.ASSIGNEE)) {
+            operations.add(Aggregation.lookup(users, "assigneeObjectId", "_id", "assignee"));
+            operations.add(Aggregation.unwind("assignee", true));
+        }
+        if (fields.includes(TaskFields.OBSERVERS)) {
+            operations.add(Aggregation.lookup(users, "observerObjectIds", "_id", "observers"));
+        }
+        if (!unsetFields.isEmpty()) {
+            operations.add(Aggregation.stage(new Document("$unset", unsetFields)));
+        }
+
+        return mongoTemplate.aggregate(
+                Aggregation.newAggregation(operations),
+                mongoTemplate.getCollectionName(Task.class),
+                Task.class
+        );
+    }
+
+    private Document toObjectIdExpression(String value) {
+        return new Document("$convert", new Document()
+                .append("input", value)
+                .append("to", "objectId")
+                .append("onError", value)
+                .append("onNull", null));
+    }
+
+    private Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
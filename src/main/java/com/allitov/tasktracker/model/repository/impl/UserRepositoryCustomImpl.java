@@ -0,0 +1,40 @@
+package com.allitov.tasktracker.model.repository.impl;
+
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.UserRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<User> updateFields(User user) {
+        return updateFields(user, null);
+    }
+
+    @Override
+    public Mono<User> updateFields(User user, Long expectedVersion) {
+        Update update = new Update()
+                .set("username", user.getUsername())
+                .set("email", user.getEmail())
+                .set("password", user.getPassword())
+                .set("roles", user.getRoles());
+
+        Query query = VersionCriteria.byIdAndVersion(user.getId(), expectedVersion);
+        query.fields().include("version");
+
+        return mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                User.class
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.allitov.tasktracker.model.repository.impl;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+@UtilityClass
+class VersionCriteria {
+
+    private final String VERSION = "version";
+
+    public Query byIdAndVersion(String id, Long expectedVersion) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (expectedVersion == null) {
+            return query;
+        }
+
+        return query.addCriteria(expectedVersion == 0 ?
+                new Criteria().orOperator(
+                        Criteria.where(VERSION).is(0L),
+                        Criteria.where(VERSION).exists(false)
+                ) :
+                Criteria.where(VERSION).is(expectedVersion));
+    }
+}
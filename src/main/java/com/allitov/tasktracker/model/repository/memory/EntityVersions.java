@@ -0,0 +1,17 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Objects;
+
+@UtilityClass
+class EntityVersions {
+
+    public boolean matches(Long version, Long expectedVersion) {
+        return expectedVersion == null || Objects.requireNonNullElse(version, 0L).equals(expectedVersion);
+    }
+
+    public long next(Long version) {
+        return Objects.requireNonNullElse(version, 0L) + 1;
+    }
+}
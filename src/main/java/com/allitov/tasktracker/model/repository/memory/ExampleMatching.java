@@ -0,0 +1,104 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+@UtilityClass
+class ExampleMatching {
+
+    public <T> Predicate<Object> matcher(Example<T> example) {
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+
+        return entity -> {
+            if (!example.getProbeType().isInstance(entity)) {
+                return false;
+            }
+
+            List<Boolean> results = new ArrayList<>();
+            collect(example.getProbe(), entity, "", accessor, results);
+
+            return example.getMatcher().isAllMatching() ?
+                    !results.contains(false) :
+                    results.isEmpty() || results.contains(true);
+        };
+    }
+
+    private void collect(Object probe, Object entity, String prefix,
+                         ExampleMatcherAccessor accessor, List<Boolean> results) {
+        BeanWrapper probeWrapper = PropertyAccessorFactory.forBeanPropertyAccess(probe);
+        BeanWrapper entityWrapper = entity == null ? null : PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        for (PropertyDescriptor descriptor : probeWrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            String path = prefix + name;
+            if (descriptor.getReadMethod() == null || "class".equals(name) || accessor.isIgnoredPath(path)) {
+                continue;
+            }
+
+            Object probeValue = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(probeWrapper.getPropertyValue(name)))
+                    .orElse(null);
+            Object value = entityWrapper == null || !entityWrapper.isReadableProperty(name) ?
+                    null :
+                    entityWrapper.getPropertyValue(name);
+            if (probeValue == null) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    results.add(value == null);
+                }
+                continue;
+            }
+            if (probeValue instanceof Collection<?> collection && collection.isEmpty()) {
+                continue;
+            }
+
+            if (isValue(probeValue)) {
+                results.add(matches(probeValue, value,
+                        accessor.getStringMatcherForPath(path), accessor.isIgnoreCaseForPath(path)));
+            } else {
+                collect(probeValue, value, path + ".", accessor, results);
+            }
+        }
+    }
+
+    private boolean matches(Object probeValue, Object value, ExampleMatcher.StringMatcher stringMatcher,
+                            boolean ignoreCase) {
+        if (!(probeValue instanceof String probe) || !(value instanceof String string)) {
+            return Objects.equals(probeValue, value);
+        }
+
+        if (stringMatcher == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(probe, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher(string).find();
+        }
+
+        String expected = ignoreCase ? probe.toLowerCase(Locale.ROOT) : probe;
+        String actual = ignoreCase ? string.toLowerCase(Locale.ROOT) : string;
+
+        return switch (stringMatcher) {
+            case STARTING -> actual.startsWith(expected);
+            case ENDING -> actual.endsWith(expected);
+            case CONTAINING -> actual.contains(expected);
+            default -> actual.equals(expected);
+        };
+    }
+
+    private boolean isValue(Object value) {
+        return BeanUtils.isSimpleValueType(value.getClass()) ||
+                value instanceof Collection<?> ||
+                value instanceof Map<?, ?>;
+    }
+}
@@ -0,0 +1,147 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class InMemoryFluentQuery<S, R> implements FluentQuery.ReactiveFluentQuery<R> {
+
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private final Function<Sort, Flux<S>> source;
+
+    private final Class<S> domainType;
+
+    private final Class<R> resultType;
+
+    private final Sort sort;
+
+    private final int limit;
+
+    private final Set<String> fields;
+
+    public static <S> InMemoryFluentQuery<S, S> of(Function<Sort, Flux<S>> source, Class<S> domainType) {
+        return new InMemoryFluentQuery<>(source, domainType, domainType, Sort.unsorted(), 0, Set.of());
+    }
+
+    @Override
+    public FluentQuery.ReactiveFluentQuery<R> sortBy(Sort sort) {
+        return new InMemoryFluentQuery<>(source, domainType, resultType, this.sort.and(sort), limit, fields);
+    }
+
+    @Override
+    public FluentQuery.ReactiveFluentQuery<R> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(ExceptionMessage.NEGATIVE_QUERY_LIMIT);
+        }
+
+        return new InMemoryFluentQuery<>(source, domainType, resultType, sort, limit, fields);
+    }
+
+    @Override
+    public <T> FluentQuery.ReactiveFluentQuery<T> as(Class<T> resultType) {
+        return new InMemoryFluentQuery<>(source, domainType, resultType, sort, limit, fields);
+    }
+
+    @Override
+    public FluentQuery.ReactiveFluentQuery<R> project(Collection<String> properties) {
+        Set<String> projectedFields = new HashSet<>(fields);
+        projectedFields.addAll(properties);
+
+        return new InMemoryFluentQuery<>(source, domainType, resultType, sort, limit, Set.copyOf(projectedFields));
+    }
+
+    @Override
+    public Mono<R> one() {
+        return all().take(2).collectList().flatMap(results -> {
+            if (results.size() > 1) {
+                return Mono.error(new IncorrectResultSizeDataAccessException(1, results.size()));
+            }
+
+            return results.isEmpty() ? Mono.empty() : Mono.just(results.get(0));
+        });
+    }
+
+    @Override
+    public Mono<R> first() {
+        return all().next();
+    }
+
+    @Override
+    public Flux<R> all() {
+        Flux<S> entities = source.apply(sort);
+
+        return (limit > 0 ? entities.take(limit) : entities).map(this::convert);
+    }
+
+    @Override
+    public Mono<Page<R>> page(Pageable pageable) {
+        Flux<S> entities = source.apply(pageable.getSortOr(sort));
+        Flux<S> content = pageable.isPaged() ?
+                entities.skip(pageable.getOffset()).take(pageable.getPageSize()) :
+                entities;
+
+        return content.map(this::convert)
+                .collectList()
+                .zipWith(count())
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return source.apply(Sort.unsorted()).count();
+    }
+
+    @Override
+    public Mono<Boolean> exists() {
+        return source.apply(Sort.unsorted()).hasElements();
+    }
+
+    private R convert(S entity) {
+        Object value = fields.isEmpty() ? entity : project(entity);
+        if (resultType.isInstance(value)) {
+            return resultType.cast(value);
+        }
+        if (resultType.isInterface()) {
+            return PROJECTION_FACTORY.createProjection(resultType, value);
+        }
+
+        R result = BeanUtils.instantiateClass(resultType);
+        BeanUtils.copyProperties(value, result);
+
+        return result;
+    }
+
+    private S project(S entity) {
+        S projected = BeanUtils.instantiateClass(domainType);
+        BeanWrapper source = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        BeanWrapper target = PropertyAccessorFactory.forBeanPropertyAccess(projected);
+        Set<String> properties = new HashSet<>();
+        properties.add("id");
+        fields.forEach(field -> properties.add(field.split("\\.", 2)[0]));
+        properties.stream()
+                .filter(property -> source.isReadableProperty(property) && target.isWritableProperty(property))
+                .forEach(property -> target.setPropertyValue(property, source.getPropertyValue(property)));
+
+        return projected;
+    }
+}
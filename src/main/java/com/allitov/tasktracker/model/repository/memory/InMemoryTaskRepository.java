@@ -0,0 +1,708 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.UserSummary;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("in-memory")
+@RequiredArgsConstructor
+public class InMemoryTaskRepository implements TaskRepository {
+
+    private static final String COLLECTION = "tasks";
+
+    private static final int CHANGE_HISTORY_SIZE = 1000;
+
+    private final InMemoryUserRepository userRepository;
+
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+
+    private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+
+    private final SecondaryIndex assigneeIndex = new SecondaryIndex();
+
+    private final SecondaryIndex observerIndex = new SecondaryIndex();
+
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    private final Sinks.Many<TaskChangeEvent> changes = Sinks.many().replay().limit(CHANGE_HISTORY_SIZE);
+
+    @Override
+    public Flux<Task> findAllByAuthorSummaryIsNull() {
+        return Flux.fromStream(() -> ids.stream()
+                .map(tasks::get)
+                .filter(task -> task != null && task.getAuthorSummary() == null)
+                .map(this::copy));
+    }
+
+    @Override
+    public Flux<Task> findAllByIdIn(Collection<String> ids) {
+        return Flux.fromStream(() -> new TreeSet<>(ids).stream()
+                .filter(tasks::containsKey)
+                .map(id -> Task.builder().id(id).build()));
+    }
+
+    @Override
+    public Mono<Task> findVersionById(String id) {
+        return Mono.fromSupplier(() -> {
+            Task task = tasks.get(id);
+            return task == null ? null : version(task);
+        });
+    }
+
+    @Override
+    public Flux<Task> findAllByFilter(TaskFilter filter) {
+        return findAllByFilter(filter, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllByFilter(TaskFilter filter, TaskFields fields) {
+        return Flux.fromStream(() -> find(filter, null, Integer.MAX_VALUE)
+                .map(task -> project(copy(task), fields)));
+    }
+
+    @Override
+    public Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit) {
+        return findAllByFilterAfter(filter, after, limit, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllByFilterAfter(TaskFilter filter, String after, int limit, TaskFields fields) {
+        return Flux.fromStream(() -> find(filter, after, limit)
+                .map(task -> project(copy(task), fields)));
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsers(TaskFilter filter) {
+        return findAllWithUsers(filter, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsers(TaskFilter filter, TaskFields fields) {
+        return Flux.fromStream(() -> find(filter, null, Integer.MAX_VALUE)
+                .map(task -> withUsers(copy(task), fields)));
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit) {
+        return findAllWithUsersAfter(filter, after, limit, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllWithUsersAfter(TaskFilter filter, String after, int limit, TaskFields fields) {
+        return Flux.fromStream(() -> find(filter, after, limit)
+                .map(task -> withUsers(copy(task), fields)));
+    }
+
+    @Override
+    public Mono<Task> findById(String id, TaskFields fields) {
+        return findById(id).map(task -> project(task, fields));
+    }
+
+    @Override
+    public Flux<Task> findVersionsByFilter(TaskFilter filter) {
+        return Flux.fromStream(() -> find(filter, null, Integer.MAX_VALUE).map(this::version));
+    }
+
+    @Override
+    public Flux<Task> findVersionsByFilterAfter(TaskFilter filter, String after, int limit) {
+        return Flux.fromStream(() -> find(filter, after, limit).map(this::version));
+    }
+
+    @Override
+    public Mono<Task> findByIdWithUsers(String id) {
+        return findByIdWithUsers(id, TaskFields.all());
+    }
+
+    @Override
+    public Mono<Task> findByIdWithUsers(String id, TaskFields fields) {
+        return findById(id).map(task -> withUsers(task, fields));
+    }
+
+    @Override
+    public Flux<TaskChangeEvent> watch(String resumeToken) {
+        return Flux.defer(() -> {
+            long after = resumeToken == null ? changeSequence.get() : Long.parseLong(resumeToken);
+            return changes.asFlux()
+                    .filter(event -> Long.parseLong(event.getId()) > after)
+                    .map(event -> TaskChangeEvent.builder()
+                            .id(event.getId())
+                            .type(event.getType())
+                            .taskId(event.getTaskId())
+                            .task(copy(event.getTask()))
+                            .build());
+        });
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Task> tasks) {
+        return Mono.fromSupplier(() -> {
+            Map<Integer, String> writeErrors = new HashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    store(tasks.get(i));
+                } catch (DuplicateKeyException e) {
+                    writeErrors.put(i, e.getMessage());
+                }
+            }
+
+            return writeErrors;
+        });
+    }
+
+    @Override
+    public Mono<Task> updateFields(Task task) {
+        return updateFields(task, null);
+    }
+
+    @Override
+    public Mono<Task> updateFields(Task task, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            Task updated = modify(task.getId(), versionMatches(expectedVersion), storedTask -> {
+                storedTask.setName(task.getName());
+                storedTask.setDescription(task.getDescription());
+                storedTask.setStatus(task.getStatus());
+                storedTask.setAssigneeId(task.getAssigneeId());
+                storedTask.setUpdatedAt(task.getUpdatedAt());
+                if (task.getAssigneeSummary() != null) {
+                    storedTask.setAssigneeSummary(copy(task.getAssigneeSummary()));
+                }
+            });
+
+            return updated == null ? null : version(updated);
+        });
+    }
+
+    @Override
+    public Mono<Task> addObserverId(String taskId, String observerId, UserSummary observerSummary,
+                                    Instant updatedAt, Long expectedVersion) {
+        return addObserverIds(taskId, List.of(observerId),
+                observerSummary == null ? null : List.of(observerSummary), updatedAt, expectedVersion);
+    }
+
+    @Override
+    public Mono<Task> addObserverIds(String taskId, Collection<String> observerIds,
+                                     Collection<UserSummary> observerSummaries, Instant updatedAt,
+                                     Long expectedVersion) {
+        return Mono.fromSupplier(() -> copy(modify(taskId, versionMatches(expectedVersion),
+                addObservers(observerIds, observerSummaries, updatedAt))));
+    }
+
+    @Override
+    public Mono<Long> addObserverIdsToAll(Collection<String> taskIds, Collection<String> observerIds,
+                                          Collection<UserSummary> observerSummaries, Instant updatedAt) {
+        return Mono.fromSupplier(() -> new HashSet<>(taskIds).stream()
+                .map(taskId -> modify(taskId, task -> true,
+                        addObservers(observerIds, observerSummaries, updatedAt)))
+                .filter(Objects::nonNull)
+                .count());
+    }
+
+    @Override
+    public Mono<Task> removeObserverId(String taskId, String observerId, Instant updatedAt, Long expectedVersion) {
+        return Mono.fromSupplier(() -> copy(modify(taskId, versionMatches(expectedVersion), task -> {
+            task.getObserverIds().remove(observerId);
+            if (task.getObserverSummaries() != null) {
+                task.getObserverSummaries().removeIf(summary -> observerId.equals(summary.getId()));
+            }
+            task.setUpdatedAt(updatedAt);
+        })));
+    }
+
+    @Override
+    public Mono<Long> updateUserSummaries(UserSummary summary) {
+        return Mono.fromSupplier(() -> {
+            long authors = ids.stream()
+                    .map(id -> modify(id,
+                            task -> isOutdated(task.getAuthorSummary(), summary),
+                            task -> task.setAuthorSummary(copy(summary))))
+                    .filter(Objects::nonNull)
+                    .count();
+            long assignees = Set.copyOf(assigneeIndex.get(summary.getId())).stream()
+                    .map(id -> modify(id,
+                            task -> isOutdated(task.getAssigneeSummary(), summary),
+                            task -> task.setAssigneeSummary(copy(summary))))
+                    .filter(Objects::nonNull)
+                    .count();
+            long observers = Set.copyOf(observerIndex.get(summary.getId())).stream()
+                    .map(id -> modify(id,
+                            task -> task.getObserverSummaries() != null && task.getObserverSummaries().stream()
+                                    .anyMatch(observerSummary -> isOutdated(observerSummary, summary)),
+                            task -> task.setObserverSummaries(task.getObserverSummaries().stream()
+                                    .map(observerSummary -> summary.getId().equals(observerSummary.getId()) ?
+                                            copy(summary) :
+                                            observerSummary)
+                                    .collect(Collectors.toSet()))))
+                    .filter(Objects::nonNull)
+                    .count();
+
+            return authors + assignees + observers;
+        });
+    }
+
+    @Override
+    public Mono<Integer> saveUserSummaries(Collection<Task> tasks) {
+        return Mono.fromSupplier(() -> (int) tasks.stream()
+                .map(task -> modify(task.getId(), storedTask -> true, storedTask -> {
+                    storedTask.setAuthorSummary(copy(task.getAuthorSummary()));
+                    storedTask.setAssigneeSummary(copy(task.getAssigneeSummary()));
+                    storedTask.setObserverSummaries(copy(task.getObserverSummaries()));
+                }))
+                .filter(Objects::nonNull)
+                .count());
+    }
+
+    @Override
+    public <S extends Task> Mono<S> insert(S entity) {
+        return Mono.fromSupplier(() -> {
+            entity.setVersion(store(entity).getVersion());
+
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends Task> Flux<S> insert(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> insert(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends Task> Mono<S> save(S entity) {
+        if (entity.getVersion() == null) {
+            return insert(entity);
+        }
+
+        return Mono.fromSupplier(() -> {
+            Task stored = copy(entity);
+            stored.setVersion(EntityVersions.next(entity.getVersion()));
+            tasks.compute(entity.getId(), (id, existing) -> {
+                if (existing == null || !EntityVersions.matches(existing.getVersion(), entity.getVersion())) {
+                    throw new OptimisticLockingFailureException(
+                            String.format(ExceptionMessage.VERSION_CONFLICT, id, COLLECTION));
+                }
+
+                index(existing, stored);
+                return stored;
+            });
+            publish(TaskChangeEvent.Type.UPDATED, stored.getId(), stored);
+            entity.setVersion(stored.getVersion());
+
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Task> findById(String id) {
+        return Mono.fromSupplier(() -> copy(tasks.get(id)));
+    }
+
+    @Override
+    public Mono<Task> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> tasks.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Task> findAll() {
+        return findAllByFilter(new TaskFilter());
+    }
+
+    @Override
+    public Flux<Task> findAllById(Iterable<String> ids) {
+        return Flux.defer(() -> {
+            NavigableSet<String> taskIds = new TreeSet<>();
+            ids.forEach(id -> {
+                if (id != null) {
+                    taskIds.add(id);
+                }
+            });
+            return Flux.fromStream(taskIds.stream().map(tasks::get).filter(Objects::nonNull).map(this::copy));
+        });
+    }
+
+    @Override
+    public Flux<Task> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) tasks.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Task entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Task> entities) {
+        return Mono.fromRunnable(() -> entities.forEach(entity -> remove(entity.getId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Task> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public Flux<Task> findAll(Sort sort) {
+        return Flux.fromStream(() -> ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .sorted(SortComparators.of(sort))
+                .map(this::copy));
+    }
+
+    @Override
+    public <S extends Task> Mono<S> findOne(Example<S> example) {
+        return findBy(example, FluentQuery.ReactiveFluentQuery::one);
+    }
+
+    @Override
+    public <S extends Task> Flux<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends Task> Flux<S> findAll(Example<S> example, Sort sort) {
+        Predicate<Object> matcher = ExampleMatching.matcher(example);
+
+        return Flux.fromStream(() -> ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .filter(matcher)
+                .sorted(SortComparators.of(sort))
+                .map(this::copy)
+                .map(example.getProbeType()::cast));
+    }
+
+    @Override
+    public <S extends Task> Mono<Long> count(Example<S> example) {
+        return findAll(example).count();
+    }
+
+    @Override
+    public <S extends Task> Mono<Boolean> exists(Example<S> example) {
+        return findAll(example).hasElements();
+    }
+
+    @Override
+    public <S extends Task, R, P extends Publisher<R>> P findBy(
+            Example<S> example, Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        return queryFunction.apply(InMemoryFluentQuery.of(sort -> findAll(example, sort), example.getProbeType()));
+    }
+
+    private Stream<Task> find(TaskFilter filter, String after, int limit) {
+        NavigableSet<String> candidates;
+        if (filter.getAssigneeId() != null) {
+            candidates = new TreeSet<>(assigneeIndex.get(filter.getAssigneeId()));
+        } else if (filter.getObserverId() != null) {
+            candidates = new TreeSet<>(observerIndex.get(filter.getObserverId()));
+        } else {
+            candidates = ids;
+        }
+        if (after != null) {
+            candidates = candidates.tailSet(after, false);
+        }
+
+        return candidates.stream()
+                .map(tasks::get)
+                .filter(task -> task != null && filter.matches(task))
+                .limit(limit);
+    }
+
+    private Task store(Task entity) {
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId().toHexString());
+        }
+        Task stored = copy(entity);
+        stored.setVersion(Objects.requireNonNullElse(entity.getVersion(), 0L));
+        tasks.compute(entity.getId(), (id, existing) -> {
+            if (existing != null) {
+                throw new DuplicateKeyException(String.format(ExceptionMessage.DUPLICATE_KEY, COLLECTION, "_id_", id));
+            }
+
+            index(null, stored);
+            ids.add(id);
+            return stored;
+        });
+        publish(TaskChangeEvent.Type.CREATED, stored.getId(), stored);
+
+        return stored;
+    }
+
+    private Task modify(String id, Predicate<Task> condition, Consumer<Task> modification) {
+        AtomicReference<Task> modified = new AtomicReference<>();
+        tasks.computeIfPresent(id, (key, stored) -> {
+            if (!condition.test(stored)) {
+                return stored;
+            }
+
+            Task task = copy(stored);
+            modification.accept(task);
+            task.setVersion(EntityVersions.next(stored.getVersion()));
+            index(stored, task);
+            modified.set(task);
+            return task;
+        });
+
+        Task task = modified.get();
+        if (task != null) {
+            publish(TaskChangeEvent.Type.UPDATED, id, task);
+        }
+
+        return task;
+    }
+
+    private void remove(String id) {
+        AtomicReference<Task> removed = new AtomicReference<>();
+        tasks.computeIfPresent(id, (key, stored) -> {
+            index(stored, null);
+            ids.remove(key);
+            removed.set(stored);
+            return null;
+        });
+        if (removed.get() != null) {
+            publish(TaskChangeEvent.Type.DELETED, id, null);
+        }
+    }
+
+    private void index(Task previous, Task current) {
+        if (current != null) {
+            assigneeIndex.add(current.getAssigneeId(), current.getId());
+            observerIndex.addAll(current.getObserverIds(), current.getId());
+        }
+        if (previous != null) {
+            if (current == null || !Objects.equals(previous.getAssigneeId(), current.getAssigneeId())) {
+                assigneeIndex.remove(previous.getAssigneeId(), previous.getId());
+            }
+            observerIndex.removeAll(current == null ?
+                    previous.getObserverIds() :
+                    previous.getObserverIds().stream()
+                            .filter(observerId -> !current.getObserverIds().contains(observerId))
+                            .toList(),
+                    previous.getId());
+        }
+    }
+
+    private void publish(TaskChangeEvent.Type type, String taskId, Task task) {
+        synchronized (changes) {
+            changes.emitNext(
+                    TaskChangeEvent.builder()
+                            .id(String.valueOf(changeSequence.incrementAndGet()))
+                            .type(type)
+                            .taskId(taskId)
+                            .task(copy(task))
+                            .build(),
+                    Sinks.EmitFailureHandler.FAIL_FAST
+            );
+        }
+    }
+
+    private Predicate<Task> versionMatches(Long expectedVersion) {
+        return task -> EntityVersions.matches(task.getVersion(), expectedVersion);
+    }
+
+    private Consumer<Task> addObservers(Collection<String> observerIds,
+                                        Collection<UserSummary> observerSummaries, Instant updatedAt) {
+        return task -> {
+            task.getObserverIds().addAll(observerIds);
+            if (observerSummaries != null) {
+                if (task.getObserverSummaries() == null) {
+                    task.setObserverSummaries(new HashSet<>());
+                }
+                observerSummaries.forEach(summary -> task.getObserverSummaries().add(copy(summary)));
+            }
+            task.setUpdatedAt(updatedAt);
+        };
+    }
+
+    private boolean isOutdated(UserSummary stored, UserSummary summary) {
+        return stored != null && summary.getId().equals(stored.getId()) &&
+                (stored.getVersion() == null || stored.getVersion() < summary.getVersion());
+    }
+
+    private Task project(Task task, TaskFields fields) {
+        if (fields.isAll()) {
+            return task;
+        }
+
+        Task projected = Task.builder()
+                .id(task.getId())
+                .version(task.getVersion())
+                .build();
+        fields.getTaskFields().forEach(field -> {
+            switch (field) {
+                case TaskFields.NAME -> projected.setName(task.getName());
+                case TaskFields.DESCRIPTION -> projected.setDescription(task.getDescription());
+                case TaskFields.CREATED_AT -> projected.setCreatedAt(task.getCreatedAt());
+                case TaskFields.UPDATED_AT -> projected.setUpdatedAt(task.getUpdatedAt());
+                case TaskFields.STATUS -> projected.setStatus(task.getStatus());
+                case TaskFields.AUTHOR -> {
+                    projected.setAuthorId(task.getAuthorId());
+                    projected.setAuthorSummary(task.getAuthorSummary());
+                }
+                case TaskFields.ASSIGNEE -> {
+                    projected.setAssigneeId(task.getAssigneeId());
+                    projected.setAssigneeSummary(task.getAssigneeSummary());
+                }
+                case TaskFields.OBSERVERS -> {
+                    projected.setObserverIds(task.getObserverIds());
+                    projected.setObserverSummaries(task.getObserverSummaries());
+                }
+                default -> {
+                }
+            }
+        });
+
+        return projected;
+    }
+
+    private Task withUsers(Task task, TaskFields fields) {
+        Task projected = project(task, fields);
+        if (fields.includes(TaskFields.AUTHOR)) {
+            projected.setAuthor(userRepository.findWithoutPassword(projected.getAuthorId()));
+        }
+        if (fields.includes(TaskFields.ASSIGNEE)) {
+            projected.setAssignee(userRepository.findWithoutPassword(projected.getAssigneeId()));
+        }
+        if (fields.includes(TaskFields.OBSERVERS)) {
+            projected.setObservers(projected.getObserverIds().stream()
+                    .map(userRepository::findWithoutPassword)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        }
+
+        return projected;
+    }
+
+    private Task version(Task task) {
+        return Task.builder()
+                .id(task.getId())
+                .version(task.getVersion())
+                .build();
+    }
+
+    private Task copy(Task task) {
+        if (task == null) {
+            return null;
+        }
+
+        return Task.builder()
+                .id(task.getId())
+                .name(task.getName())
+                .description(task.getDescription())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .status(task.getStatus())
+                .authorId(task.getAuthorId())
+                .assigneeId(task.getAssigneeId())
+                .observerIds(task.getObserverIds() == null ? new HashSet<>() : new HashSet<>(task.getObserverIds()))
+                .authorSummary(copy(task.getAuthorSummary()))
+                .assigneeSummary(copy(task.getAssigneeSummary()))
+                .observerSummaries(copy(task.getObserverSummaries()))
+                .version(task.getVersion())
+                .build();
+    }
+
+    private UserSummary copy(UserSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        return new UserSummary(summary.getId(), summary.getUsername(), summary.getEmail(),
+                summary.getRoles() == null ? null : new HashSet<>(summary.getRoles()), summary.getVersion());
+    }
+
+    private Set<UserSummary> copy(Set<UserSummary> summaries) {
+        if (summaries == null) {
+            return null;
+        }
+
+        return summaries.stream()
+                .map(this::copy)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
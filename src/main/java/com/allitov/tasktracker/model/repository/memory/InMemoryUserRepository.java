@@ -0,0 +1,392 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final String COLLECTION = "users";
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+
+    private final Map<String, String> usernameIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return Mono.fromSupplier(() -> {
+            String id = usernameIndex.get(username);
+            return id == null ? null : copy(users.get(id));
+        });
+    }
+
+    @Override
+    public Flux<User> findAllBy() {
+        return find(ids, Pageable.unpaged(), this::withoutPassword);
+    }
+
+    @Override
+    public Flux<User> findAllBy(Pageable pageable) {
+        return find(ids, pageable, this::withoutPassword);
+    }
+
+    @Override
+    public Flux<User> findAllByIdGreaterThan(String id, Pageable pageable) {
+        return find(ids.tailSet(id, false), pageable, this::withoutPassword);
+    }
+
+    @Override
+    public Mono<User> findVersionById(String id) {
+        return Mono.fromSupplier(() -> {
+            User user = users.get(id);
+            return user == null ? null : version(user);
+        });
+    }
+
+    @Override
+    public Flux<User> findVersionsBy() {
+        return find(ids, Pageable.unpaged(), this::version);
+    }
+
+    @Override
+    public Flux<User> findVersionsBy(Pageable pageable) {
+        return find(ids, pageable, this::version);
+    }
+
+    @Override
+    public Flux<User> findVersionsByIdGreaterThan(String id, Pageable pageable) {
+        return find(ids.tailSet(id, false), pageable, this::version);
+    }
+
+    @Override
+    public Mono<User> updateFields(User user) {
+        return updateFields(user, null);
+    }
+
+    @Override
+    public Mono<User> updateFields(User user, Long expectedVersion) {
+        return Mono.fromSupplier(() -> {
+            AtomicReference<User> matched = new AtomicReference<>();
+            users.computeIfPresent(user.getId(), (id, stored) -> {
+                if (!EntityVersions.matches(stored.getVersion(), expectedVersion)) {
+                    return stored;
+                }
+
+                User updated = copy(stored);
+                updated.setUsername(user.getUsername());
+                updated.setEmail(user.getEmail());
+                updated.setPassword(user.getPassword());
+                updated.setRoles(user.getRoles() == null ? null : new HashSet<>(user.getRoles()));
+                updated.setVersion(EntityVersions.next(stored.getVersion()));
+                index(stored, updated);
+                matched.set(version(updated));
+                return updated;
+            });
+
+            return matched.get();
+        });
+    }
+
+    @Override
+    public <S extends User> Mono<S> insert(S entity) {
+        return Mono.fromSupplier(() -> {
+            if (entity.getId() == null) {
+                entity.setId(new ObjectId().toHexString());
+            }
+            User stored = copy(entity);
+            stored.setVersion(Objects.requireNonNullElse(entity.getVersion(), 0L));
+            users.compute(entity.getId(), (id, existing) -> {
+                if (existing != null) {
+                    throw duplicateKey("_id_", id);
+                }
+
+                index(null, stored);
+                ids.add(id);
+                return stored;
+            });
+            entity.setVersion(stored.getVersion());
+
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends User> Flux<S> insert(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends User> Flux<S> insert(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends User> Mono<S> save(S entity) {
+        if (entity.getVersion() == null) {
+            return insert(entity);
+        }
+
+        return Mono.fromSupplier(() -> {
+            User stored = copy(entity);
+            stored.setVersion(EntityVersions.next(entity.getVersion()));
+            users.compute(entity.getId(), (id, existing) -> {
+                if (existing == null || !EntityVersions.matches(existing.getVersion(), entity.getVersion())) {
+                    throw new OptimisticLockingFailureException(
+                            String.format(ExceptionMessage.VERSION_CONFLICT, id, COLLECTION));
+                }
+
+                index(existing, stored);
+                return stored;
+            });
+            entity.setVersion(stored.getVersion());
+
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return Mono.fromSupplier(() -> copy(users.get(id)));
+    }
+
+    @Override
+    public Mono<User> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> users.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return find(ids, Pageable.unpaged(), UnaryOperator.identity());
+    }
+
+    @Override
+    public Flux<User> findAllById(Iterable<String> ids) {
+        return Flux.defer(() -> {
+            NavigableSet<String> userIds = new TreeSet<>();
+            ids.forEach(id -> {
+                if (id != null) {
+                    userIds.add(id);
+                }
+            });
+            return find(userIds, Pageable.unpaged(), UnaryOperator.identity());
+        });
+    }
+
+    @Override
+    public Flux<User> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) users.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(User entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Mono.fromRunnable(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends User> entities) {
+        return Mono.fromRunnable(() -> entities.forEach(entity -> remove(entity.getId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends User> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public Flux<User> findAll(Sort sort) {
+        return Flux.fromStream(() -> ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .sorted(SortComparators.of(sort))
+                .map(this::copy));
+    }
+
+    @Override
+    public <S extends User> Mono<S> findOne(Example<S> example) {
+        return findBy(example, FluentQuery.ReactiveFluentQuery::one);
+    }
+
+    @Override
+    public <S extends User> Flux<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends User> Flux<S> findAll(Example<S> example, Sort sort) {
+        Predicate<Object> matcher = ExampleMatching.matcher(example);
+
+        return Flux.fromStream(() -> ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .filter(matcher)
+                .sorted(SortComparators.of(sort))
+                .map(this::copy)
+                .map(example.getProbeType()::cast));
+    }
+
+    @Override
+    public <S extends User> Mono<Long> count(Example<S> example) {
+        return findAll(example).count();
+    }
+
+    @Override
+    public <S extends User> Mono<Boolean> exists(Example<S> example) {
+        return findAll(example).hasElements();
+    }
+
+    @Override
+    public <S extends User, R, P extends Publisher<R>> P findBy(
+            Example<S> example, Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        return queryFunction.apply(InMemoryFluentQuery.of(sort -> findAll(example, sort), example.getProbeType()));
+    }
+
+    User findWithoutPassword(String id) {
+        User user = users.get(id);
+        return user == null ? null : withoutPassword(copy(user));
+    }
+
+    private Flux<User> find(Collection<String> userIds, Pageable pageable, UnaryOperator<User> projection) {
+        return Flux.fromStream(() -> {
+            Stream<User> stream = userIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull);
+            if (pageable.isPaged()) {
+                stream = stream.skip(pageable.getOffset()).limit(pageable.getPageSize());
+            }
+
+            return stream.map(this::copy).map(projection);
+        });
+    }
+
+    private void remove(String id) {
+        users.computeIfPresent(id, (key, stored) -> {
+            index(stored, null);
+            ids.remove(key);
+            return null;
+        });
+    }
+
+    private void index(User previous, User current) {
+        String previousUsername = previous == null ? null : previous.getUsername();
+        String currentUsername = current == null ? null : current.getUsername();
+        if (Objects.equals(previousUsername, currentUsername)) {
+            return;
+        }
+        if (currentUsername != null) {
+            String owner = usernameIndex.putIfAbsent(currentUsername, current.getId());
+            if (owner != null && !owner.equals(current.getId())) {
+                throw duplicateKey("username", currentUsername);
+            }
+        }
+        if (previousUsername != null) {
+            usernameIndex.remove(previousUsername, previous.getId());
+        }
+    }
+
+    private User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .roles(user.getRoles() == null ? new HashSet<>() : new HashSet<>(user.getRoles()))
+                .version(user.getVersion())
+                .build();
+    }
+
+    private User withoutPassword(User user) {
+        user.setPassword(null);
+
+        return user;
+    }
+
+    private User version(User user) {
+        return User.builder()
+                .id(user.getId())
+                .version(user.getVersion())
+                .build();
+    }
+
+    private DuplicateKeyException duplicateKey(String index, String key) {
+        return new DuplicateKeyException(String.format(ExceptionMessage.DUPLICATE_KEY, COLLECTION, index, key));
+    }
+}
@@ -0,0 +1,42 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class SecondaryIndex {
+
+    private final Map<String, Set<String>> entries = new ConcurrentHashMap<>();
+
+    public void add(String key, String id) {
+        if (key != null) {
+            entries.compute(key, (k, ids) -> {
+                Set<String> keyIds = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                keyIds.add(id);
+                return keyIds;
+            });
+        }
+    }
+
+    public void addAll(Collection<String> keys, String id) {
+        keys.forEach(key -> add(key, id));
+    }
+
+    public void remove(String key, String id) {
+        if (key != null) {
+            entries.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public void removeAll(Collection<String> keys, String id) {
+        keys.forEach(key -> remove(key, id));
+    }
+
+    public Set<String> get(String key) {
+        return entries.getOrDefault(key, Set.of());
+    }
+}
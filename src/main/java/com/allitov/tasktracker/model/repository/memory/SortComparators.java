@@ -0,0 +1,55 @@
+package com.allitov.tasktracker.model.repository.memory;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+@UtilityClass
+class SortComparators {
+
+    public <T> Comparator<T> of(Sort sort) {
+        Comparator<T> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            comparator = comparator.thenComparing(of(order));
+        }
+
+        return comparator;
+    }
+
+    private <T> Comparator<T> of(Sort.Order order) {
+        Comparator<Object> values = (left, right) -> compare(left, right, order.isIgnoreCase());
+        Comparator<Object> directed = order.isAscending() ? values : values.reversed();
+        Comparator<Object> nullSafe = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> Comparator.nullsFirst(directed);
+            case NULLS_LAST -> Comparator.nullsLast(directed);
+            case NATIVE -> order.isAscending() ? Comparator.nullsFirst(directed) : Comparator.nullsLast(directed);
+        };
+
+        return Comparator.comparing(entity -> property(entity, order.getProperty()), nullSafe);
+    }
+
+    private Object property(Object entity, String path) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        try {
+            return wrapper.getPropertyValue(path);
+        } catch (BeansException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compare(Object left, Object right, boolean ignoreCase) {
+        if (ignoreCase && left instanceof String leftString && right instanceof String rightString) {
+            return String.CASE_INSENSITIVE_ORDER.compare(leftString, rightString);
+        }
+        if (left instanceof Comparable comparable && left.getClass().isInstance(right)) {
+            return comparable.compareTo(right);
+        }
+
+        return left.toString().compareTo(right.toString());
+    }
+}
@@ -1,22 +1,60 @@
 package com.allitov.tasktracker.model.service;
 
 import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskBatchResult;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 public interface TaskService {
 
     Flux<Task> findAll();
 
+    Flux<Task> findAll(TaskFilter filter);
+
+    Flux<Task> findAll(TaskFilter filter, TaskFields fields);
+
+    Flux<Task> findAllAfter(TaskFilter filter, String after, int limit);
+
+    Flux<Task> findAllAfter(TaskFilter filter, String after, int limit, TaskFields fields);
+
     Mono<Task> findById(String id);
 
+    Mono<Task> findById(String id, TaskFields fields);
+
+    Mono<Task> findVersionById(String id);
+
+    Flux<Task> findAllVersions(TaskFilter filter);
+
+    Flux<Task> findAllVersionsAfter(TaskFilter filter, String after, int limit);
+
     Mono<Task> create(Task task);
 
+    Flux<TaskBatchResult> createAll(Flux<Task> tasks);
+
     Mono<Task> update(Task task);
 
+    Mono<Task> update(Task task, Long expectedVersion);
+
     Mono<Task> addObserverById(String taskId, String observerId);
 
+    Mono<Task> addObserverById(String taskId, String observerId, Long expectedVersion);
+
+    Mono<Task> addObserversById(String taskId, Set<String> observerIds);
+
+    Mono<Task> addObserversById(String taskId, Set<String> observerIds, Long expectedVersion);
+
+    Mono<Void> addObserversByIds(Set<String> taskIds, Set<String> observerIds);
+
     Mono<Task> removeObserverById(String taskId, String observerId);
 
+    Mono<Task> removeObserverById(String taskId, String observerId, Long expectedVersion);
+
     Mono<Void> deleteById(String id);
+
+    Flux<TaskChangeEvent> watch(TaskFilter filter, String resumeToken);
 }
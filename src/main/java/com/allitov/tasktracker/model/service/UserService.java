@@ -8,14 +8,24 @@ public interface UserService {
 
     Flux<User> findAll();
 
+    Flux<User> findAllAfter(String after, int limit);
+
     Mono<User> findById(String id);
 
     Mono<User> findByUsername(String username);
 
+    Mono<User> findVersionById(String id);
+
+    Flux<User> findAllVersions();
+
+    Flux<User> findAllVersionsAfter(String after, int limit);
+
     Mono<User> create(User user);
 
     Mono<User> update(User user);
 
+    Mono<User> update(User user, Long expectedVersion);
+
     Mono<Void> deleteById(String id);
 
     Flux<User> findAllByIdsIn(Iterable<String> ids);
@@ -0,0 +1,140 @@
+package com.allitov.tasktracker.model.service.cache;
+
+import com.allitov.tasktracker.configuration.properties.UserProperties;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+@Component
+public class UserBatchLoader {
+
+    private final UserRepository userRepository;
+
+    private final UserProperties.Batch properties;
+
+    private final Scheduler scheduler;
+
+    private final DistributionSummary batchSize;
+
+    private final Object lock = new Object();
+
+    private Batch pendingBatch;
+
+    public UserBatchLoader(UserRepository userRepository,
+                           UserProperties userProperties,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = userProperties.getBatch();
+        this.scheduler = Schedulers.parallel();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.batchSize = registry == null ? null : DistributionSummary.builder("app.user.batch.size")
+                .register(registry);
+    }
+
+    public Mono<User> loadById(String id) {
+        if (!isBatchingEnabled()) {
+            return userRepository.findById(id);
+        }
+
+        return load(Set.of(id)).mapNotNull(users -> users.get(id));
+    }
+
+    public Flux<User> loadAllByIds(Set<String> ids) {
+        if (!isBatchingEnabled()) {
+            return userRepository.findAllById(ids);
+        }
+
+        return load(ids).flatMapIterable(Map::values);
+    }
+
+    private Mono<Map<String, User>> load(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return Mono.defer(() -> {
+            Batch batch;
+            boolean full;
+            synchronized (lock) {
+                if (pendingBatch == null) {
+                    Batch newBatch = new Batch();
+                    pendingBatch = newBatch;
+                    scheduler.schedule(() -> dispatch(newBatch),
+                            properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                }
+                batch = pendingBatch;
+                batch.ids.addAll(ids);
+                full = batch.ids.size() >= properties.getMaxSize();
+            }
+
+            if (full) {
+                dispatch(batch);
+            }
+
+            return batch.result.asMono().map(users -> filterByIds(users, ids));
+        });
+    }
+
+    private void dispatch(Batch batch) {
+        synchronized (lock) {
+            if (pendingBatch == batch) {
+                pendingBatch = null;
+            }
+        }
+        if (!batch.dispatched.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (batchSize != null) {
+            batchSize.record(batch.ids.size());
+        }
+        userRepository.findAllById(batch.ids)
+                .collectMap(User::getId, Function.identity())
+                .subscribe(batch.result::tryEmitValue, batch.result::tryEmitError);
+    }
+
+    private Map<String, User> filterByIds(Map<String, User> users, Set<String> ids) {
+        if (users.size() <= ids.size() && ids.containsAll(users.keySet())) {
+            return users;
+        }
+
+        Map<String, User> result = new HashMap<>(ids.size());
+        ids.forEach(id -> {
+            User user = users.get(id);
+            if (user != null) {
+                result.put(id, user);
+            }
+        });
+
+        return result;
+    }
+
+    private boolean isBatchingEnabled() {
+        return properties.getWindow().isPositive();
+    }
+
+    private static class Batch {
+
+        private final Set<String> ids = new HashSet<>();
+
+        private final Sinks.One<Map<String, User>> result = Sinks.one();
+
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,117 @@
+package com.allitov.tasktracker.model.service.cache;
+
+import com.allitov.tasktracker.configuration.properties.UserProperties;
+import com.allitov.tasktracker.model.entity.User;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+public class UserCache {
+
+    private final AsyncCache<String, User> usersById;
+
+    private final AsyncCache<String, User> usersByUsername;
+
+    private final Map<String, Set<String>> usernamesById = new ConcurrentHashMap<>();
+
+    public UserCache(UserProperties userProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        usersById = buildCache(userProperties.getCache()).buildAsync();
+        usersByUsername = buildCache(userProperties.getCache())
+                .<String, User>removalListener((username, user, cause) -> {
+                    if (username != null && user != null) {
+                        unindexUsername(user.getId(), username);
+                    }
+                })
+                .buildAsync();
+
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, usersById, "users.by-id");
+            CaffeineCacheMetrics.monitor(registry, usersByUsername, "users.by-username");
+        });
+    }
+
+    public Mono<User> getById(String id, Function<String, Mono<User>> loader) {
+        return Mono.fromFuture(
+                () -> usersById.get(id, (key, executor) -> loader.apply(key).toFuture()),
+                true
+        );
+    }
+
+    public Mono<User> getByUsername(String username, Function<String, Mono<User>> loader) {
+        return Mono.fromFuture(
+                () -> usersByUsername.get(username, (key, executor) -> loader.apply(key)
+                        .doOnNext(user -> indexUsername(user.getId(), key))
+                        .toFuture()),
+                true
+        );
+    }
+
+    public Flux<User> getAllByIds(Iterable<String> ids, Function<Set<String>, Flux<User>> loader) {
+        Set<String> keys = StreamSupport.stream(ids.spliterator(), false)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return Mono.fromFuture(
+                        () -> usersById.getAll(keys, (missingKeys, executor) -> loader.apply(Set.copyOf(missingKeys))
+                                .collectMap(User::getId, Function.identity())
+                                .toFuture()),
+                        true
+                )
+                .flatMapIterable(Map::values);
+    }
+
+    public void invalidate(User user) {
+        invalidateById(user.getId());
+        if (user.getUsername() != null) {
+            usersByUsername.synchronous().invalidate(user.getUsername());
+        }
+    }
+
+    public void invalidateById(String id) {
+        if (id == null) {
+            return;
+        }
+
+        usersById.synchronous().invalidate(id);
+        Set<String> usernames = usernamesById.remove(id);
+        if (usernames != null) {
+            usersByUsername.synchronous().invalidateAll(usernames);
+        }
+    }
+
+    private void indexUsername(String id, String username) {
+        usernamesById.compute(id, (key, usernames) -> {
+            Set<String> indexedUsernames = usernames == null ? ConcurrentHashMap.newKeySet() : usernames;
+            indexedUsernames.add(username);
+            return indexedUsernames;
+        });
+    }
+
+    private void unindexUsername(String id, String username) {
+        usernamesById.computeIfPresent(id, (key, usernames) -> {
+            usernames.remove(username);
+            return usernames.isEmpty() ? null : usernames;
+        });
+    }
+
+    private Caffeine<Object, Object> buildCache(UserProperties.Cache properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats();
+    }
+}
@@ -1,20 +1,52 @@
 package com.allitov.tasktracker.model.service.impl;
 
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
 import com.allitov.tasktracker.error.EntityNotFoundException;
 import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.error.PreconditionFailedException;
+import com.allitov.tasktracker.metrics.ReactiveObservations;
 import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskBatchResult;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.entity.UserSummary;
 import com.allitov.tasktracker.model.repository.TaskRepository;
 import com.allitov.tasktracker.model.service.TaskService;
 import com.allitov.tasktracker.model.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DatabaseTaskService implements TaskService {
@@ -23,82 +55,221 @@ public class DatabaseTaskService implements TaskService {
 
     private final UserService userService;
 
+    private final TaskProperties taskProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObservationRegistry observationRegistry;
+
+    private final AtomicReference<String> lastChangeId = new AtomicReference<>();
+
+    private final Flux<TaskChangeEvent> changes = Flux.defer(() -> watchChanges(lastChangeId.get()))
+            .doOnNext(event -> lastChangeId.set(event.getId()))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(Duration.ofSeconds(30))
+                    .doBeforeRetry(signal -> log.warn("Task change stream failed, resuming after '{}'",
+                            lastChangeId.get(), signal.failure())))
+            .doOnCancel(() -> lastChangeId.set(null))
+            .publish()
+            .refCount();
+
     @Override
     public Flux<Task> findAll() {
-        return taskRepository.findAll()
-                .flatMap(this::zipStreams);
+        if (isLookupHydrationMode()) {
+            return observe(taskRepository.findAllWithUsers(new TaskFilter()), "find-all-with-users");
+        }
+
+        return hydrate(observe(taskRepository.findAll(), "find-all"), TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAll(TaskFilter filter) {
+        return findAll(filter, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAll(TaskFilter filter, @NonNull TaskFields fields) {
+        if (isLookupHydrationMode()) {
+            return observe(taskRepository.findAllWithUsers(filter, fields), "find-all-with-users");
+        }
+
+        return hydrate(observe(taskRepository.findAllByFilter(filter, fields), "find-all"), fields);
+    }
+
+    @Override
+    public Flux<Task> findAllAfter(TaskFilter filter, String after, int limit) {
+        return findAllAfter(filter, after, limit, TaskFields.all());
+    }
+
+    @Override
+    public Flux<Task> findAllAfter(TaskFilter filter, String after, int limit, @NonNull TaskFields fields) {
+        if (isLookupHydrationMode()) {
+            return observe(
+                    taskRepository.findAllWithUsersAfter(filter, after, limit, fields),
+                    "find-all-with-users"
+            );
+        }
+
+        return hydrate(
+                observe(taskRepository.findAllByFilterAfter(filter, after, limit, fields), "find-all"),
+                fields
+        );
     }
 
     @Override
     public Mono<Task> findById(@NonNull String id) {
-        return taskRepository.findById(id)
-                .switchIfEmpty(
-                        Mono.error(
-                                new EntityNotFoundException(String.format(ExceptionMessage.TASK_BY_ID_NOT_FOUND, id))
-                        )
-                )
-                .flatMap(this::zipStreams);
+        return findById(id, TaskFields.all());
+    }
+
+    @Override
+    public Mono<Task> findById(@NonNull String id, @NonNull TaskFields fields) {
+        if (isLookupHydrationMode()) {
+            return observe(taskRepository.findByIdWithUsers(id, fields), "find-with-users")
+                    .switchIfEmpty(taskNotFound(id));
+        }
+
+        return observe(fields.isAll() ? taskRepository.findById(id) : taskRepository.findById(id, fields), "find")
+                .switchIfEmpty(taskNotFound(id))
+                .flatMap(task -> hydrate(task, fields));
+    }
+
+    @Override
+    public Mono<Task> findVersionById(@NonNull String id) {
+        return observe(taskRepository.findVersionById(id), "find-version")
+                .switchIfEmpty(taskNotFound(id));
+    }
+
+    @Override
+    public Flux<Task> findAllVersions(TaskFilter filter) {
+        return observe(taskRepository.findVersionsByFilter(filter), "find-all-versions");
+    }
+
+    @Override
+    public Flux<Task> findAllVersionsAfter(TaskFilter filter, String after, int limit) {
+        return observe(
+                taskRepository.findVersionsByFilterAfter(filter, after, limit),
+                "find-all-versions"
+        );
     }
 
     @Override
     public Mono<Task> create(@NonNull Task task) {
-        return zipStreams(task)
+        return zipStreams(task, TaskFields.all())
                 .flatMap(taskToSave -> {
                     Instant now = Instant.now();
                     taskToSave.setCreatedAt(now);
                     taskToSave.setUpdatedAt(now);
-                    return taskRepository.save(taskToSave);
+                    if (isEmbeddedHydrationMode()) {
+                        taskToSave.embedUserSummaries();
+                    }
+                    return observe(taskRepository.save(taskToSave), "save");
                 });
     }
 
+    @Override
+    public Flux<TaskBatchResult> createAll(@NonNull Flux<Task> tasks) {
+        return tasks
+                .index()
+                .buffer(taskProperties.getBatchChunkSize())
+                .concatMap(this::createChunk);
+    }
+
     @Override
     public Mono<Task> update(Task task) {
-        return Mono
-                .zip(
-                        findById(task.getId()),
-                        userService.findById(task.getAssigneeId()),
-                        (foundTask, assignee) -> {
-                            foundTask.setName(task.getName());
-                            foundTask.setDescription(task.getDescription());
-                            foundTask.setStatus(task.getStatus());
-                            foundTask.setAssigneeId(assignee.getId());
-                            foundTask.setUpdatedAt(Instant.now());
-                            return foundTask;
-                        }
-                )
-                .flatMap(taskRepository::save);
+        return update(task, null);
+    }
+
+    @Override
+    public Mono<Task> update(Task task, Long expectedVersion) {
+        return userService.findById(task.getAssigneeId())
+                .flatMap(assignee -> {
+                    task.setAssigneeId(assignee.getId());
+                    task.setAssignee(assignee);
+                    task.setUpdatedAt(Instant.now());
+                    if (isEmbeddedHydrationMode()) {
+                        task.setAssigneeSummary(UserSummary.from(assignee));
+                    }
+                    return taskRepository.updateFields(task, expectedVersion)
+                            .switchIfEmpty(Mono.defer(() -> taskNotUpdated(task.getId(), expectedVersion)));
+                })
+                .map(updatedTask -> {
+                    task.setVersion(updatedTask.getVersion());
+                    return task;
+                });
     }
 
     @Override
     public Mono<Task> addObserverById(@NonNull String taskId, @NonNull String observerId) {
+        return addObserverById(taskId, observerId, null);
+    }
+
+    @Override
+    public Mono<Task> addObserverById(@NonNull String taskId, @NonNull String observerId, Long expectedVersion) {
+        return userService.findById(observerId)
+                .flatMap(user -> taskRepository.addObserverId(
+                        taskId,
+                        user.getId(),
+                        isEmbeddedHydrationMode() ? UserSummary.from(user) : null,
+                        Instant.now(),
+                        expectedVersion
+                ))
+                .switchIfEmpty(Mono.defer(() -> taskNotUpdated(taskId, expectedVersion)))
+                .flatMap(this::hydrate);
+    }
+
+    @Override
+    public Mono<Task> addObserversById(@NonNull String taskId, @NonNull Set<String> observerIds) {
+        return addObserversById(taskId, observerIds, null);
+    }
+
+    @Override
+    public Mono<Task> addObserversById(@NonNull String taskId, @NonNull Set<String> observerIds,
+                                       Long expectedVersion) {
+        return findObservers(observerIds)
+                .flatMap(observers -> taskRepository.addObserverIds(
+                        taskId,
+                        observerIds,
+                        toObserverSummaries(observers),
+                        Instant.now(),
+                        expectedVersion
+                ))
+                .switchIfEmpty(Mono.defer(() -> taskNotUpdated(taskId, expectedVersion)))
+                .flatMap(this::hydrate);
+    }
+
+    @Override
+    public Mono<Void> addObserversByIds(@NonNull Set<String> taskIds, @NonNull Set<String> observerIds) {
         return Mono
                 .zip(
-                        findById(taskId),
-                        userService.findById(observerId),
-                        (task, user) -> {
-                            task.addObserverId(user.getId());
-                            task.setUpdatedAt(Instant.now());
-                            return task;
-                    }
+                        findObservers(observerIds),
+                        checkTasksExist(taskIds),
+                        (observers, tasksExist) -> observers
                 )
-                .flatMap(taskRepository::save)
-                .flatMap(this::zipStreams);
+                .flatMap(observers -> taskRepository.addObserverIdsToAll(
+                        taskIds,
+                        observerIds,
+                        toObserverSummaries(observers),
+                        Instant.now()
+                ))
+                .then();
     }
 
     @Override
     public Mono<Task> removeObserverById(String taskId, String observerId) {
-        return Mono
-                .zip(
-                        findById(taskId),
-                        userService.findById(observerId),
-                        (task, user) -> {
-                            task.removeObserverId(user.getId());
-                            task.setUpdatedAt(Instant.now());
-                            return task;
-                        }
-                )
-                .flatMap(taskRepository::save)
-                .flatMap(this::zipStreams);
+        return removeObserverById(taskId, observerId, null);
+    }
+
+    @Override
+    public Mono<Task> removeObserverById(String taskId, String observerId, Long expectedVersion) {
+        return userService.findById(observerId)
+                .flatMap(user -> taskRepository.removeObserverId(
+                        taskId,
+                        user.getId(),
+                        Instant.now(),
+                        expectedVersion
+                ))
+                .switchIfEmpty(Mono.defer(() -> taskNotUpdated(taskId, expectedVersion)))
+                .flatMap(this::hydrate);
     }
 
     @Override
@@ -106,20 +277,313 @@ public class DatabaseTaskService implements TaskService {
         return taskRepository.deleteById(id);
     }
 
-    private Mono<Task> zipStreams(Task task) {
+    @Override
+    public Flux<TaskChangeEvent> watch(@NonNull TaskFilter filter, String resumeToken) {
+        Flux<TaskChangeEvent> events = resumeToken == null ?
+                changes.onBackpressureBuffer(taskProperties.getEventBufferSize()) :
+                resume(resumeToken);
+
+        return events.filter(event -> event.getTask() == null || filter.matches(event.getTask()));
+    }
+
+    private Flux<TaskChangeEvent> resume(String resumeToken) {
+        return Flux.defer(() -> {
+            Set<String> liveIds = ConcurrentHashMap.newKeySet();
+            AtomicBoolean joined = new AtomicBoolean();
+            Sinks.Many<TaskChangeEvent> live = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<TaskChangeEvent>get(taskProperties.getEventBufferSize()).get());
+            Disposable liveSubscription = changes
+                    .doOnNext(event -> {
+                        if (!joined.get()) {
+                            liveIds.add(event.getId());
+                        }
+                    })
+                    .subscribe(
+                            event -> {
+                                if (live.tryEmitNext(event).isFailure()) {
+                                    live.tryEmitError(Exceptions.failWithOverflow());
+                                }
+                            },
+                            live::tryEmitError,
+                            live::tryEmitComplete
+                    );
+
+            AtomicReference<String> lastReplayedId = new AtomicReference<>();
+            Flux<TaskChangeEvent> replay = watchChanges(resumeToken)
+                    .takeUntil(event -> liveIds.contains(event.getId()))
+                    .doOnNext(event -> lastReplayedId.set(event.getId()))
+                    .take(taskProperties.getEventReplayTimeout())
+                    .onErrorResume(error -> {
+                        log.warn("Failed to resume task changes after '{}'", resumeToken, error);
+                        return Flux.empty();
+                    });
+            Flux<TaskChangeEvent> join = Flux.defer(() -> {
+                String joinedAt = lastReplayedId.get();
+                boolean caughtUp = joinedAt != null && liveIds.contains(joinedAt);
+                boolean missedChanges = !caughtUp && !liveIds.isEmpty();
+                joined.set(true);
+                liveIds.clear();
+
+                if (missedChanges) {
+                    return Flux.empty();
+                }
+
+                return caughtUp ?
+                        live.asFlux().skipUntil(event -> event.getId().equals(joinedAt)).skip(1) :
+                        live.asFlux();
+            });
+
+            return replay.concatWith(join)
+                    .doFinally(signal -> liveSubscription.dispose());
+        });
+    }
+
+    private Flux<TaskChangeEvent> watchChanges(String resumeToken) {
+        return taskRepository.watch(resumeToken)
+                .concatMap(event -> event.getTask() == null ?
+                        Mono.just(event) :
+                        hydrate(Flux.just(event.getTask()), TaskFields.all()).then(Mono.just(event)));
+    }
+
+    private Flux<TaskBatchResult> createChunk(List<Tuple2<Long, Task>> chunk) {
+        Set<String> userIds = new HashSet<>();
+        chunk.forEach(item -> {
+            userIds.add(item.getT2().getAuthorId());
+            userIds.add(item.getT2().getAssigneeId());
+            userIds.addAll(item.getT2().getObserverIds());
+        });
+        userIds.remove(null);
+
+        return userService.findAllByIdsIn(userIds)
+                .collectMap(User::getId, Function.identity())
+                .flatMapMany(users -> {
+                    Instant now = Instant.now();
+                    List<TaskBatchResult> results = new ArrayList<>(chunk.size());
+                    List<TaskBatchResult> insertResults = new ArrayList<>(chunk.size());
+                    List<Task> tasksToInsert = new ArrayList<>(chunk.size());
+                    chunk.forEach(item -> {
+                        Task task = item.getT2();
+                        String missingUserId = findMissingUserId(task, users);
+                        if (missingUserId != null) {
+                            results.add(TaskBatchResult.failed(item.getT1(),
+                                    String.format(ExceptionMessage.USER_BY_ID_NOT_FOUND, missingUserId)));
+                            return;
+                        }
+
+                        task.setId(new ObjectId().toHexString());
+                        task.setCreatedAt(now);
+                        task.setUpdatedAt(now);
+                        task.setVersion(0L);
+                        attachUsers(task, users, TaskFields.all());
+                        if (isEmbeddedHydrationMode()) {
+                            task.embedUserSummaries();
+                        }
+                        TaskBatchResult result = TaskBatchResult.created(item.getT1(), task.getId());
+                        results.add(result);
+                        insertResults.add(result);
+                        tasksToInsert.add(task);
+                    });
+
+                    return taskRepository.insertAllUnordered(tasksToInsert)
+                            .flatMapIterable(writeErrors -> {
+                                writeErrors.forEach((position, message) ->
+                                        insertResults.get(position).fail(message));
+                                return results;
+                            });
+                });
+    }
+
+    private String findMissingUserId(Task task, Map<String, User> users) {
+        if (!users.containsKey(task.getAuthorId())) {
+            return task.getAuthorId();
+        }
+        if (!users.containsKey(task.getAssigneeId())) {
+            return task.getAssigneeId();
+        }
+
+        return task.getObserverIds().stream()
+                .filter(observerId -> !users.containsKey(observerId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Mono<List<User>> findObservers(Set<String> observerIds) {
+        return userService.findAllByIdsIn(observerIds)
+                .collectList()
+                .flatMap(observers -> {
+                    Set<String> foundIds = observers.stream().map(User::getId).collect(Collectors.toSet());
+                    return observerIds.stream()
+                            .filter(observerId -> !foundIds.contains(observerId))
+                            .findFirst()
+                            .<Mono<List<User>>>map(observerId -> Mono.error(new EntityNotFoundException(
+                                    String.format(ExceptionMessage.USER_BY_ID_NOT_FOUND, observerId))))
+                            .orElse(Mono.just(observers));
+                });
+    }
+
+    private Mono<Boolean> checkTasksExist(Set<String> taskIds) {
+        return taskRepository.findAllByIdIn(taskIds)
+                .map(Task::getId)
+                .collect(Collectors.toSet())
+                .flatMap(foundIds -> taskIds.stream()
+                        .filter(taskId -> !foundIds.contains(taskId))
+                        .findFirst()
+                        .<Mono<Boolean>>map(taskId -> Mono.error(new EntityNotFoundException(
+                                String.format(ExceptionMessage.TASK_BY_ID_NOT_FOUND, taskId))))
+                        .orElse(Mono.just(true)));
+    }
+
+    private Set<UserSummary> toObserverSummaries(List<User> observers) {
+        if (!isEmbeddedHydrationMode()) {
+            return null;
+        }
+
+        return observers.stream().map(UserSummary::from).collect(Collectors.toSet());
+    }
+
+    private Mono<Task> taskNotFound(String id) {
+        return Mono.error(new EntityNotFoundException(String.format(ExceptionMessage.TASK_BY_ID_NOT_FOUND, id)));
+    }
+
+    private Mono<Task> taskNotUpdated(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return taskNotFound(id);
+        }
+
+        return taskRepository.existsById(id)
+                .flatMap(exists -> exists ?
+                        Mono.error(new PreconditionFailedException(
+                                String.format(ExceptionMessage.TASK_VERSION_MISMATCH, id))) :
+                        taskNotFound(id));
+    }
+
+    private Mono<Task> hydrate(Task task) {
+        return hydrate(task, TaskFields.all());
+    }
+
+    private Mono<Task> hydrate(Task task, TaskFields fields) {
+        if (isEmbeddedHydrationMode() && task.hasUserSummaries(fields)) {
+            task.expandUserSummaries();
+            return Mono.just(task);
+        }
+
+        return zipStreams(task, fields);
+    }
+
+    private Mono<Task> zipStreams(Task task, TaskFields fields) {
+        Mono<User> author = fields.includes(TaskFields.AUTHOR) ?
+                observe(userService.findById(task.getAuthorId()), "hydrate-author") :
+                Mono.empty();
+        Mono<User> assignee = fields.includes(TaskFields.ASSIGNEE) ?
+                observe(userService.findById(task.getAssigneeId()), "hydrate-assignee") :
+                Mono.empty();
+        Mono<Set<User>> observers = fields.includes(TaskFields.OBSERVERS) ?
+                observe(userService.findAllByIdsIn(task.getObserverIds()).collect(Collectors.toSet()),
+                        "hydrate-observers") :
+                Mono.empty();
+
         return Mono
-                .zip(
-                    Mono.just(task),
-                    userService.findById(task.getAuthorId()),
-                    userService.findById(task.getAssigneeId()),
-                    userService.findAllByIdsIn(task.getObserverIds()).collect(Collectors.toSet())
+                .when(
+                        author.doOnNext(task::setAuthor),
+                        assignee.doOnNext(task::setAssignee),
+                        observers.doOnNext(task::setObservers)
                 )
-                .map(tuple -> {
-                    Task result = tuple.getT1();
-                    result.setAuthor(tuple.getT2());
-                    result.setAssignee(tuple.getT3());
-                    result.setObservers(tuple.getT4());
-                    return result;
+                .then(Mono.fromCallable(() -> {
+                    recordResolvedUsers("single", countResolvedUsers(task, fields));
+                    return task;
+                }));
+    }
+
+    private Flux<Task> hydrate(Flux<Task> tasks, TaskFields fields) {
+        return tasks
+                .buffer(taskProperties.getHydrationWindowSize())
+                .concatMap(window -> hydrateWindow(window, fields));
+    }
+
+    private Flux<Task> hydrateWindow(List<Task> tasks, TaskFields fields) {
+        List<Task> tasksToResolve = isEmbeddedHydrationMode() ?
+                tasks.stream().filter(task -> !task.hasUserSummaries(fields)).toList() :
+                tasks;
+        if (isEmbeddedHydrationMode()) {
+            tasks.stream()
+                    .filter(task -> task.hasUserSummaries(fields))
+                    .forEach(Task::expandUserSummaries);
+        }
+
+        Set<String> userIds = new HashSet<>();
+        tasksToResolve.forEach(task -> {
+            if (fields.includes(TaskFields.AUTHOR)) {
+                userIds.add(task.getAuthorId());
+            }
+            if (fields.includes(TaskFields.ASSIGNEE)) {
+                userIds.add(task.getAssigneeId());
+            }
+            if (fields.includes(TaskFields.OBSERVERS)) {
+                userIds.addAll(task.getObserverIds());
+            }
+        });
+        userIds.remove(null);
+
+        if (userIds.isEmpty()) {
+            return Flux.fromIterable(tasks);
+        }
+
+        return observe(userService.findAllByIdsIn(userIds).collectMap(User::getId, Function.identity()),
+                "hydrate-window")
+                .flatMapIterable(users -> {
+                    recordResolvedUsers("window", users.size());
+                    tasksToResolve.forEach(task -> attachUsers(task, users, fields));
+                    return tasks;
                 });
     }
+
+    private void attachUsers(Task task, Map<String, User> users, TaskFields fields) {
+        if (fields.includes(TaskFields.AUTHOR)) {
+            task.setAuthor(users.get(task.getAuthorId()));
+        }
+        if (fields.includes(TaskFields.ASSIGNEE)) {
+            task.setAssignee(users.get(task.getAssigneeId()));
+        }
+        if (fields.includes(TaskFields.OBSERVERS)) {
+            task.setObservers(task.getObserverIds().stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    private int countResolvedUsers(Task task, TaskFields fields) {
+        int count = fields.includes(TaskFields.OBSERVERS) ? task.getObservers().size() : 0;
+        if (fields.includes(TaskFields.AUTHOR)) {
+            count++;
+        }
+        if (fields.includes(TaskFields.ASSIGNEE)) {
+            count++;
+        }
+
+        return count;
+    }
+
+    private <T> Mono<T> observe(Mono<T> mono, String stage) {
+        return ReactiveObservations.observed(mono, observationRegistry, ReactiveObservations.TASK_STAGE, stage);
+    }
+
+    private <T> Flux<T> observe(Flux<T> flux, String stage) {
+        return ReactiveObservations.observed(flux, observationRegistry, ReactiveObservations.TASK_STAGE, stage);
+    }
+
+    private void recordResolvedUsers(String path, int count) {
+        DistributionSummary.builder("app.task.hydration.users")
+                .tag("path", path)
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    private boolean isLookupHydrationMode() {
+        return taskProperties.getHydrationMode() == TaskProperties.HydrationMode.LOOKUP;
+    }
+
+    private boolean isEmbeddedHydrationMode() {
+        return taskProperties.getHydrationMode() == TaskProperties.HydrationMode.EMBEDDED;
+    }
 }
@@ -1,17 +1,29 @@
 package com.allitov.tasktracker.model.service.impl;
 
+import com.allitov.tasktracker.error.EntityAlreadyExistsException;
 import com.allitov.tasktracker.error.EntityNotFoundException;
 import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.error.PreconditionFailedException;
 import com.allitov.tasktracker.model.entity.User;
 import com.allitov.tasktracker.model.repository.UserRepository;
 import com.allitov.tasktracker.model.service.UserService;
+import com.allitov.tasktracker.model.service.cache.UserBatchLoader;
+import com.allitov.tasktracker.model.service.cache.UserCache;
+import com.allitov.tasktracker.model.service.summary.UserSummaryPropagator;
+import com.allitov.tasktracker.security.AuthenticationCache;
+import com.allitov.tasktracker.security.TokenService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 @RequiredArgsConstructor
@@ -21,24 +33,41 @@ public class DatabaseUserService implements UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final UserCache userCache;
+
+    private final UserBatchLoader userBatchLoader;
+
+    private final AuthenticationCache authenticationCache;
+
+    private final TokenService tokenService;
+
+    private final Scheduler passwordEncoderScheduler;
+
+    private final UserSummaryPropagator userSummaryPropagator;
+
     @Override
     public Flux<User> findAll() {
-        return userRepository.findAll();
+        return userRepository.findAllBy();
+    }
+
+    @Override
+    public Flux<User> findAllAfter(String after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "id"));
+
+        return after == null ?
+                userRepository.findAllBy(pageable) :
+                userRepository.findAllByIdGreaterThan(after, pageable);
     }
 
     @Override
     public Mono<User> findById(@NonNull String id) {
-        return userRepository.findById(id)
-                .switchIfEmpty(
-                        Mono.error(
-                                new EntityNotFoundException(String.format(ExceptionMessage.USER_BY_ID_NOT_FOUND, id))
-                        )
-                );
+        return userCache.getById(id, userBatchLoader::loadById)
+                .switchIfEmpty(userNotFound(id));
     }
 
     @Override
     public Mono<User> findByUsername(@NonNull String username) {
-        return userRepository.findByUsername(username)
+        return userCache.getByUsername(username, userRepository::findByUsername)
                 .switchIfEmpty(
                         Mono.error(
                                 new UsernameNotFoundException(ExceptionMessage.USER_BY_USERNAME_NOT_FOUND)
@@ -47,26 +76,98 @@ public class DatabaseUserService implements UserService {
     }
 
     @Override
-    public Mono<User> create(@NonNull User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+    public Mono<User> findVersionById(@NonNull String id) {
+        return userRepository.findVersionById(id)
+                .switchIfEmpty(userNotFound(id));
+    }
 
-        return userRepository.save(user);
+    @Override
+    public Flux<User> findAllVersions() {
+        return userRepository.findVersionsBy();
+    }
+
+    @Override
+    public Flux<User> findAllVersionsAfter(String after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "id"));
+
+        return after == null ?
+                userRepository.findVersionsBy(pageable) :
+                userRepository.findVersionsByIdGreaterThan(after, pageable);
+    }
+
+    @Override
+    public Mono<User> create(@NonNull User user) {
+        return encodePassword(user)
+                .flatMap(userRepository::save)
+                .onErrorMap(DuplicateKeyException.class, e -> usernameAlreadyExists(user.getUsername()))
+                .doOnSuccess(userCache::invalidate);
     }
 
     @Override
     public Mono<User> update(@NonNull User user) {
-        return findById(user.getId()).flatMap(
-                foundUser -> !foundUser.equals(user) ? userRepository.save(user) : Mono.just(foundUser)
-        );
+        return update(user, null);
+    }
+
+    @Override
+    public Mono<User> update(@NonNull User user, Long expectedVersion) {
+        return encodePassword(user)
+                .flatMap(userToSave -> userRepository.updateFields(userToSave, expectedVersion)
+                        .onErrorMap(DuplicateKeyException.class, e -> usernameAlreadyExists(user.getUsername()))
+                        .switchIfEmpty(Mono.defer(() -> userNotUpdated(user.getId(), expectedVersion)))
+                        .map(updatedUser -> {
+                            userToSave.setVersion(updatedUser.getVersion());
+                            return userToSave;
+                        }))
+                .flatMap(updatedUser -> {
+                    evict(user.getId());
+                    return userSummaryPropagator.propagate(updatedUser).thenReturn(updatedUser);
+                });
     }
 
     @Override
     public Mono<Void> deleteById(@NonNull String id) {
-        return userRepository.deleteById(id);
+        return userRepository.deleteById(id)
+                .doOnSuccess(unused -> evict(id));
     }
 
     @Override
     public Flux<User> findAllByIdsIn(@NonNull Iterable<String> ids) {
-        return userRepository.findAllById(ids);
+        return userCache.getAllByIds(ids, userBatchLoader::loadAllByIds);
+    }
+
+    private Mono<User> userNotFound(String id) {
+        return Mono.error(new EntityNotFoundException(String.format(ExceptionMessage.USER_BY_ID_NOT_FOUND, id)));
+    }
+
+    private EntityAlreadyExistsException usernameAlreadyExists(String username) {
+        return new EntityAlreadyExistsException(
+                String.format(ExceptionMessage.USER_BY_USERNAME_ALREADY_EXISTS, username));
+    }
+
+    private Mono<User> userNotUpdated(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return userNotFound(id);
+        }
+
+        return userRepository.existsById(id)
+                .flatMap(exists -> exists ?
+                        Mono.error(new PreconditionFailedException(
+                                String.format(ExceptionMessage.USER_VERSION_MISMATCH, id))) :
+                        userNotFound(id));
+    }
+
+    private Mono<User> encodePassword(User user) {
+        return Mono
+                .fromCallable(() -> {
+                    user.setPassword(passwordEncoder.encode(user.getPassword()));
+                    return user;
+                })
+                .subscribeOn(passwordEncoderScheduler);
+    }
+
+    private void evict(String id) {
+        userCache.invalidateById(id);
+        authenticationCache.evictByUserId(id);
+        tokenService.revokeByUserId(id);
     }
 }
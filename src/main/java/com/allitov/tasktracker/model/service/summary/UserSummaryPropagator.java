@@ -0,0 +1,31 @@
+package com.allitov.tasktracker.model.service.summary;
+
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.entity.UserSummary;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSummaryPropagator {
+
+    private final TaskRepository taskRepository;
+
+    private final TaskProperties taskProperties;
+
+    public Mono<Long> propagate(User user) {
+        if (taskProperties.getHydrationMode() != TaskProperties.HydrationMode.EMBEDDED) {
+            return Mono.just(0L);
+        }
+
+        UserSummary summary = UserSummary.from(user);
+        return taskRepository.updateUserSummaries(summary)
+                .doOnNext(modifiedCount -> log.debug("Updated {} user summaries of user '{}'",
+                        modifiedCount, summary.getId()));
+    }
+}
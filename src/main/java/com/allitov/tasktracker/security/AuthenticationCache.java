@@ -0,0 +1,122 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AuthenticationCache {
+
+    private static final String KEY_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Authentication> authentications;
+
+    private final Map<String, Set<String>> keysByUserId = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final SecretKey key;
+
+    @SneakyThrows
+    public AuthenticationCache(AuthenticationProperties authenticationProperties,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        authentications = Caffeine.newBuilder()
+                .maximumSize(authenticationProperties.getCache().getMaximumSize())
+                .expireAfterWrite(authenticationProperties.getCache().getTimeToLive())
+                .recordStats()
+                .<String, Authentication>removalListener((cacheKey, authentication, cause) -> {
+                    String userId = getUserId(authentication);
+                    if (cause != RemovalCause.REPLACED && cacheKey != null && userId != null) {
+                        unindexKey(userId, cacheKey);
+                    }
+                })
+                .build();
+        key = KeyGenerator.getInstance(KEY_ALGORITHM).generateKey();
+
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, authentications, "authentications"));
+    }
+
+    public Authentication get(String username, String password) {
+        return authentications.getIfPresent(toKey(username, password));
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public void put(String username, String password, Authentication authentication, long evictionsBefore) {
+        String cacheKey = toKey(username, password);
+        String userId = getUserId(authentication);
+        if (userId == null) {
+            if (evictions.get() == evictionsBefore) {
+                authentications.put(cacheKey, authentication);
+            }
+            return;
+        }
+
+        keysByUserId.compute(userId, (id, keys) -> {
+            if (evictions.get() != evictionsBefore) {
+                return keys;
+            }
+
+            Set<String> userKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            userKeys.add(cacheKey);
+            authentications.put(cacheKey, authentication);
+            return userKeys;
+        });
+    }
+
+    public void evictByUserId(String userId) {
+        evictions.incrementAndGet();
+        Set<String> keys = keysByUserId.remove(userId);
+        if (keys != null) {
+            authentications.invalidateAll(keys);
+        }
+    }
+
+    private void unindexKey(String userId, String cacheKey) {
+        keysByUserId.computeIfPresent(userId, (id, keys) -> {
+            if (authentications.asMap().containsKey(cacheKey)) {
+                return keys;
+            }
+
+            keys.remove(cacheKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private String getUserId(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof AppUserDetails userDetails ?
+                userDetails.getUser().getId() :
+                null;
+    }
+
+    @SneakyThrows
+    private String toKey(String username, String password) {
+        Mac mac = Mac.getInstance(KEY_ALGORITHM);
+        mac.init(key);
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+}
@@ -0,0 +1,27 @@
+package com.allitov.tasktracker.security;
+
+import lombok.Getter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.Collections;
+
+@Getter
+public class BearerTokenAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String token;
+
+    public BearerTokenAuthenticationToken(String token) {
+        super(Collections.emptyList());
+        this.token = token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token;
+    }
+}
@@ -0,0 +1,27 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class BearerTokenReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final TokenService tokenService;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearerToken)) {
+            return Mono.empty();
+        }
+
+        return Mono.justOrEmpty(tokenService.verify(bearerToken.getToken()))
+                .switchIfEmpty(Mono.error(new BadCredentialsException(ExceptionMessage.INVALID_TOKEN)))
+                .map(userDetails -> UsernamePasswordAuthenticationToken.authenticated(
+                        userDetails, null, userDetails.getAuthorities()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.allitov.tasktracker.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+
+    private final AuthenticationCache authenticationCache;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) ||
+                !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String username = authentication.getName();
+        Authentication cachedAuthentication = authenticationCache.get(username, password);
+        if (cachedAuthentication != null) {
+            return Mono.just(cachedAuthentication);
+        }
+
+        long evictions = authenticationCache.getEvictions();
+        return delegate.authenticate(authentication)
+                .doOnNext(result -> authenticationCache.put(username, password, result, evictions));
+    }
+}
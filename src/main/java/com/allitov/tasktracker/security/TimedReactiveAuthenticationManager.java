@@ -0,0 +1,31 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.metrics.ReactiveMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TimedReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private static final String METRIC_NAME = "app.authentication";
+
+    private final ReactiveAuthenticationManager delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String type;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return ReactiveMetrics.timed(
+                delegate.authenticate(authentication),
+                meterRegistry,
+                METRIC_NAME,
+                Tags.of("type", type)
+        );
+    }
+}
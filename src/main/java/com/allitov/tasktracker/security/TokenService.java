@@ -0,0 +1,126 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class TokenService {
+
+    private static final String KEY_ALGORITHM = "HmacSHA256";
+
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+
+    private final SecretKey key;
+
+    private final Duration timeToLive;
+
+    private final Cache<String, Instant> revocations;
+
+    @SneakyThrows
+    public TokenService(AuthenticationProperties authenticationProperties, ObjectMapper objectMapper) {
+        AuthenticationProperties.Token properties = authenticationProperties.getToken();
+        this.objectMapper = objectMapper;
+        this.key = StringUtils.hasText(properties.getSecret()) ?
+                new SecretKeySpec(Base64.getDecoder().decode(properties.getSecret()), KEY_ALGORITHM) :
+                KeyGenerator.getInstance(KEY_ALGORITHM).generateKey();
+        this.timeToLive = properties.getTimeToLive();
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    @SneakyThrows
+    public String issue(User user) {
+        Instant now = Instant.now();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", user.getId());
+        claims.put("username", user.getUsername());
+        claims.put("roles", user.getRoles());
+        claims.put("iat", now.toEpochMilli());
+        claims.put("exp", now.plus(timeToLive).toEpochMilli());
+
+        String content = HEADER + "." + encode(objectMapper.writeValueAsBytes(claims));
+
+        return content + "." + encode(sign(content));
+    }
+
+    public Optional<AppUserDetails> verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(parts[2]);
+            if (!MessageDigest.isEqual(signature, sign(parts[0] + "." + parts[1]))) {
+                return Optional.empty();
+            }
+
+            Map<?, ?> claims = objectMapper.readValue(Base64.getUrlDecoder().decode(parts[1]), Map.class);
+            String userId = (String) claims.get("sub");
+            Instant issuedAt = Instant.ofEpochMilli(((Number) claims.get("iat")).longValue());
+            Instant expiresAt = Instant.ofEpochMilli(((Number) claims.get("exp")).longValue());
+            Instant revokedAt = revocations.getIfPresent(userId);
+            if (!Instant.now().isBefore(expiresAt) || (revokedAt != null && !issuedAt.isAfter(revokedAt))) {
+                return Optional.empty();
+            }
+
+            Set<RoleType> roles = ((List<?>) claims.get("roles")).stream()
+                    .map(role -> RoleType.valueOf((String) role))
+                    .collect(Collectors.toSet());
+
+            return Optional.of(new AppUserDetails(User.builder()
+                    .id(userId)
+                    .username((String) claims.get("username"))
+                    .roles(roles)
+                    .build()));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public void revokeByUserId(String userId) {
+        revocations.put(userId, Instant.now());
+    }
+
+    @SneakyThrows
+    private byte[] sign(String content) {
+        Mac mac = Mac.getInstance(KEY_ALGORITHM);
+        mac.init(key);
+
+        return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,84 @@
+package com.allitov.tasktracker.web.controller;
+
+import com.allitov.tasktracker.security.AppUserDetails;
+import com.allitov.tasktracker.security.TokenService;
+import com.allitov.tasktracker.web.dto.request.LoginRequest;
+import com.allitov.tasktracker.web.dto.response.ErrorResponse;
+import com.allitov.tasktracker.web.dto.response.TokenResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v2/auth")
+@RequiredArgsConstructor
+@Tag(name = "Auth controller", description = "Authentication API version 2.0")
+public class AuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+
+    private final TokenService tokenService;
+
+    @Operation(
+            summary = "Log in",
+            description = "Log in with username and password. Returns a short-lived bearer token"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and bearer token if everything completed successfully",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TokenResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if request has invalid values",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if credentials are invalid",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping("/login")
+    public Mono<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated(
+                        request.getUsername(), request.getPassword()))
+                .map(authentication -> (AppUserDetails) authentication.getPrincipal())
+                .map(userDetails -> new TokenResponse(
+                        tokenService.issue(userDetails.getUser()),
+                        "Bearer",
+                        tokenService.getTimeToLive().toSeconds()
+                ))
+                .map(ResponseEntity::ok);
+    }
+}
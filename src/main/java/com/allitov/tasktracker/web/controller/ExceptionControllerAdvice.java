@@ -1,7 +1,9 @@
 package com.allitov.tasktracker.web.controller;
 
+import com.allitov.tasktracker.error.EntityAlreadyExistsException;
 import com.allitov.tasktracker.error.EntityNotFoundException;
 import com.allitov.tasktracker.error.IllegalDataAccessException;
+import com.allitov.tasktracker.error.PreconditionFailedException;
 import com.allitov.tasktracker.web.dto.response.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
@@ -44,6 +46,18 @@ public class ExceptionControllerAdvice implements WebExceptionHandler {
                 ErrorResponse responseBody = new ErrorResponse(notFoundEx.getMessage());
                 return writeResponse(exchange, objectMapper.writeValueAsBytes(responseBody));
             }
+            case EntityAlreadyExistsException alreadyExistsEx -> {
+                exchange.getResponse().setStatusCode(HttpStatus.CONFLICT);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                ErrorResponse responseBody = new ErrorResponse(alreadyExistsEx.getMessage());
+                return writeResponse(exchange, objectMapper.writeValueAsBytes(responseBody));
+            }
+            case PreconditionFailedException preconditionEx -> {
+                exchange.getResponse().setStatusCode(HttpStatus.PRECONDITION_FAILED);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                ErrorResponse responseBody = new ErrorResponse(preconditionEx.getMessage());
+                return writeResponse(exchange, objectMapper.writeValueAsBytes(responseBody));
+            }
             case IllegalDataAccessException dataAccessEx -> {
                 exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
                 exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
@@ -1,14 +1,26 @@
 package com.allitov.tasktracker.web.controller;
 
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
+import com.allitov.tasktracker.metrics.ReactiveObservations;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
 import com.allitov.tasktracker.model.service.TaskService;
 import com.allitov.tasktracker.web.dto.request.ChangeTaskRequest;
 import com.allitov.tasktracker.web.dto.request.CreateTaskRequest;
+import com.allitov.tasktracker.web.dto.request.TaskFieldsRequest;
+import com.allitov.tasktracker.web.dto.request.TaskFilterRequest;
 import com.allitov.tasktracker.web.dto.response.ErrorResponse;
+import com.allitov.tasktracker.web.dto.response.TaskBatchResponse;
+import com.allitov.tasktracker.web.dto.response.TaskEventResponse;
 import com.allitov.tasktracker.web.dto.response.TaskListResponse;
 import com.allitov.tasktracker.web.dto.response.TaskResponse;
+import com.allitov.tasktracker.web.etag.EntityTags;
 import com.allitov.tasktracker.web.mapper.TaskMapper;
+import io.micrometer.observation.ObservationRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,12 +30,20 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.net.URI;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v2/task")
@@ -35,10 +55,25 @@ public class TaskController {
 
     private final TaskMapper taskMapper;
 
+    private final TaskProperties taskProperties;
+
+    private final ObservationRegistry observationRegistry;
+
     @Operation(
             summary = "Get all tasks",
             description = "Get all tasks. Returns a list of tasks. " +
+                    "Tasks can be filtered by status, assignee, author, observer and update time range. " +
+                    "If 'limit' or 'after' is specified, returns a page of tasks ordered by id " +
+                    "and the cursor of the next page. " +
+                    "If 'fields' is specified, returns only the requested task fields, " +
+                    "e.g. 'id,name,status,assignee.username'. " +
+                    "Returns status 304 if the 'If-None-Match' header matches the entity tag of the tasks list. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
+            parameters = {
+                    @Parameter(name = "limit", example = "100"),
+                    @Parameter(name = "after", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER)
+            },
             security = @SecurityRequirement(name = "Basic authorization")
     )
     @ApiResponses({
@@ -52,6 +87,20 @@ public class TaskController {
                             )
                     }
             ),
+            @ApiResponse(
+                    description = "Returns status 304 if tasks list was not modified since the 'If-None-Match' entity tag",
+                    responseCode = "304"
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if filter or fields are invalid",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
             @ApiResponse(
                     description = "Returns status 401 and error message if user is not authorized",
                     responseCode = "401",
@@ -74,19 +123,162 @@ public class TaskController {
             )
     })
     @GetMapping
-    public Mono<ResponseEntity<TaskListResponse>> getAll() {
+    public Mono<ResponseEntity<TaskListResponse>> getAll(@RequestParam(value = "limit", required = false) Integer limit,
+                                                         @RequestParam(value = "after", required = false) String after,
+                                                         @Valid @ParameterObject TaskFilterRequest filterRequest,
+                                                         @Valid @ParameterObject TaskFieldsRequest fieldsRequest,
+                                                         ServerWebExchange exchange) {
+        TaskFilter filter = taskMapper.filterRequestToTaskFilter(filterRequest);
+        TaskFields fields = taskMapper.fieldsRequestToTaskFields(fieldsRequest);
+        if (limit == null && after == null) {
+            return EntityTags.conditionalTasks(
+                    exchange,
+                    () -> taskService.findAllVersions(filter),
+                    () -> taskService.findAll(filter, fields),
+                    tasks -> taskMapper.taskListToTaskListResponse(tasks, fields)
+            );
+        }
+
+        int pageSize = getPageSize(limit);
+        return EntityTags.conditionalTasks(
+                exchange,
+                () -> taskService.findAllVersionsAfter(filter, after, pageSize),
+                () -> taskService.findAllAfter(filter, after, pageSize, fields),
+                tasks -> taskMapper.taskListToTaskListResponse(tasks, pageSize, fields)
+        );
+    }
+
+    @Operation(
+            summary = "Stream all tasks",
+            description = "Stream all tasks. Returns tasks as newline delimited JSON as soon as they are loaded. " +
+                    "Requires any of the authorities: ['USER', 'MANAGER']",
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and tasks stream if everything completed successfully",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TaskResponse.class),
+                                    mediaType = "application/x-ndjson"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamAll() {
         return taskService.findAll()
-                .collect(Collectors.toList())
-                .map(taskMapper::taskListToTaskListResponse)
-                .map(ResponseEntity::ok);
+                .map(taskMapper::taskToResponse);
+    }
+
+    @Operation(
+            summary = "Stream task events",
+            description = "Stream task changes as server-sent events. " +
+                    "Each event id can be sent back in the 'Last-Event-ID' header to resume after that event. " +
+                    "Created and updated tasks can be filtered like in 'Get all tasks'; " +
+                    "deletion events are sent to every subscriber. " +
+                    "The stream is closed if the subscriber falls too far behind or cannot catch up " +
+                    "after a resume; reconnect with the 'Last-Event-ID' header to continue. " +
+                    "Requires any of the authorities: ['USER', 'MANAGER']",
+            parameters = {
+                    @Parameter(name = "Last-Event-ID", in = ParameterIn.HEADER)
+            },
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and task events stream if everything completed successfully",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TaskEventResponse.class),
+                                    mediaType = "text/event-stream"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if filter is invalid",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEventResponse>> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Valid @ParameterObject TaskFilterRequest filterRequest) {
+        Sinks.Empty<Void> eventsDone = Sinks.empty();
+        Flux<ServerSentEvent<TaskEventResponse>> events = taskService
+                .watch(taskMapper.filterRequestToTaskFilter(filterRequest), lastEventId)
+                .map(event -> ServerSentEvent.builder(taskMapper.taskEventToResponse(event))
+                        .id(event.getId())
+                        .build())
+                .doFinally(signal -> eventsDone.tryEmitEmpty());
+        Flux<ServerSentEvent<TaskEventResponse>> heartbeats = Flux
+                .interval(Duration.ZERO, taskProperties.getEventHeartbeatInterval())
+                .takeUntilOther(eventsDone.asMono())
+                .map(tick -> ServerSentEvent.<TaskEventResponse>builder()
+                        .comment("heartbeat")
+                        .build());
+
+        return Flux.merge(events, heartbeats);
     }
 
     @Operation(
             summary = "Get task by id",
             description = "Get task by id. Returns task with requested id. " +
+                    "If 'fields' is specified, returns only the requested task fields, " +
+                    "e.g. 'id,name,status,assignee.username'. " +
+                    "Returns status 304 if the 'If-None-Match' header matches the entity tag of the task. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
             parameters = {
-                    @Parameter(name = "id", example = "1")
+                    @Parameter(name = "id", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
@@ -101,6 +293,20 @@ public class TaskController {
                             )
                     }
             ),
+            @ApiResponse(
+                    description = "Returns status 304 if task was not modified since the 'If-None-Match' entity tag",
+                    responseCode = "304"
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if fields are invalid",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
             @ApiResponse(
                     description = "Returns status 401 and error message if user is not authorized",
                     responseCode = "401",
@@ -133,10 +339,21 @@ public class TaskController {
             )
     })
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<TaskResponse>> getById(@PathVariable("id") String id) {
-        return taskService.findById(id)
-                .map(taskMapper::taskToResponse)
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<TaskResponse>> getById(@PathVariable("id") String id,
+                                                      @Valid @ParameterObject TaskFieldsRequest fieldsRequest,
+                                                      ServerWebExchange exchange) {
+        TaskFields fields = taskMapper.fieldsRequestToTaskFields(fieldsRequest);
+        return EntityTags.conditionalTask(
+                exchange,
+                () -> taskService.findVersionById(id),
+                () -> taskService.findById(id, fields),
+                task -> ReactiveObservations.observed(
+                        Mono.fromSupplier(() -> taskMapper.taskToResponse(task, fields)),
+                        observationRegistry,
+                        ReactiveObservations.TASK_STAGE,
+                        "map"
+                )
+        );
     }
 
     @Operation(
@@ -202,18 +419,84 @@ public class TaskController {
                 );
     }
 
+    @Operation(
+            summary = "Create tasks in batch",
+            description = "Create tasks in batch. Accepts a JSON array or newline delimited JSON of tasks. " +
+                    "Returns status 200 and the result of every task in request order. " +
+                    "Tasks with nonexistent user ids or failed writes are reported as failed " +
+                    "without affecting the other tasks. " +
+                    "Tasks are created in chunks while the request is read, so an invalid task " +
+                    "does not roll back the chunks created before it. " +
+                    "Requires any of the authorities: ['MANAGER']",
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and batch results if the batch was processed",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TaskBatchResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if any task has invalid values",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping(
+            value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public Mono<ResponseEntity<TaskBatchResponse>> createAll(@Valid @RequestBody Flux<CreateTaskRequest> requests) {
+        return taskService.createAll(requests.map(taskMapper::createRequestToTask))
+                .collectList()
+                .map(taskMapper::batchResultListToBatchResponse)
+                .map(ResponseEntity::ok);
+    }
+
     @Operation(
             summary = "Update task by id",
-            description = "Update task by id. Returns status 204. " +
+            description = "Update task by id. Returns status 204 and the new entity tag. " +
+                    "If 'If-Match' is specified, updates the task only if it still matches the entity tag. " +
                     "Requires any of the authorities: ['MANAGER']",
             parameters = {
-                    @Parameter(name = "id", example = "1")
+                    @Parameter(name = "id", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
     @ApiResponses({
             @ApiResponse(
-                    description = "Returns status 204 if everything completed successfully",
+                    description = "Returns status 204 and the new entity tag if everything completed successfully",
                     responseCode = "204"
             ),
             @ApiResponse(
@@ -256,22 +539,37 @@ public class TaskController {
                                     mediaType = "application/json"
                             )
                     }
+            ),
+            @ApiResponse(
+                    description = "Returns status 412 and error message " +
+                            "if task does not match the 'If-Match' entity tag",
+                    responseCode = "412",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
             )
     })
     @PutMapping("/{id}")
     public Mono<ResponseEntity<Void>> updateById(@PathVariable("id") String id,
-                                                 @Valid @RequestBody ChangeTaskRequest request) {
-        return taskService.update(taskMapper.changeReuqestToTask(id, request))
-                .thenReturn(ResponseEntity.noContent().build());
+                                                 @Valid @RequestBody ChangeTaskRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                 String ifMatch) {
+        return taskService.update(taskMapper.changeReuqestToTask(id, request), EntityTags.parseVersion(ifMatch, id))
+                .map(task -> ResponseEntity.noContent().eTag(EntityTags.of(task)).build());
     }
 
     @Operation(
             summary = "Add observer by id",
             description = "Add observer by id. Returns status 200 and updated task. " +
+                    "If 'If-Match' is specified, updates the task only if it still matches the entity tag. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
             parameters = {
                     @Parameter(name = "id", example = "1"),
-                    @Parameter(name = "observerId", example = "1")
+                    @Parameter(name = "observerId", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
@@ -316,23 +614,167 @@ public class TaskController {
                                     mediaType = "application/json"
                             )
                     }
+            ),
+            @ApiResponse(
+                    description = "Returns status 412 and error message " +
+                            "if task does not match the 'If-Match' entity tag",
+                    responseCode = "412",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
             )
     })
     @PatchMapping("/{id}/add-observer")
     public Mono<ResponseEntity<TaskResponse>> addObserverById(@PathVariable("id") String taskId,
-                                                              @RequestParam("observerId") String observerId) {
-        return taskService.addObserverById(taskId, observerId)
-                .map(taskMapper::taskToResponse)
-                .map(ResponseEntity::ok);
+                                                              @RequestParam("observerId") String observerId,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                              String ifMatch) {
+        return taskService.addObserverById(taskId, observerId, EntityTags.parseVersion(ifMatch, taskId))
+                .map(this::toTaggedResponse);
+    }
+
+    @Operation(
+            summary = "Add observers by ids",
+            description = "Add observers by ids. Returns status 200 and updated task. " +
+                    "If 'If-Match' is specified, updates the task only if it still matches the entity tag. " +
+                    "Requires any of the authorities: ['USER', 'MANAGER']",
+            parameters = {
+                    @Parameter(name = "id", example = "1"),
+                    @Parameter(name = "observerIds", example = "1,2"),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER)
+            },
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and updated task if everything completed successfully",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TaskResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 404 and error message " +
+                            "if task or any user with requested id was not found",
+                    responseCode = "404",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 412 and error message " +
+                            "if task does not match the 'If-Match' entity tag",
+                    responseCode = "412",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PatchMapping("/{id}/add-observers")
+    public Mono<ResponseEntity<TaskResponse>> addObserversById(@PathVariable("id") String taskId,
+                                                               @RequestParam("observerIds") Set<String> observerIds,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                               String ifMatch) {
+        return taskService.addObserversById(taskId, observerIds, EntityTags.parseVersion(ifMatch, taskId))
+                .map(this::toTaggedResponse);
+    }
+
+    @Operation(
+            summary = "Add observers to tasks by ids",
+            description = "Add observers to tasks by ids. Every observer is added to every task. " +
+                    "Returns status 204. " +
+                    "Requires any of the authorities: ['USER', 'MANAGER']",
+            parameters = {
+                    @Parameter(name = "taskIds", example = "1,2"),
+                    @Parameter(name = "observerIds", example = "1,2")
+            },
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 204 if everything completed successfully",
+                    responseCode = "204"
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 404 and error message " +
+                            "if any task or user with requested id was not found",
+                    responseCode = "404",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PatchMapping("/add-observers")
+    public Mono<ResponseEntity<Void>> addObserversByIds(@RequestParam("taskIds") Set<String> taskIds,
+                                                        @RequestParam("observerIds") Set<String> observerIds) {
+        return taskService.addObserversByIds(taskIds, observerIds)
+                .thenReturn(ResponseEntity.noContent().build());
     }
 
     @Operation(
             summary = "Remove observer by id",
             description = "Remove observer by id. Returns status 200 and updated task. " +
+                    "If 'If-Match' is specified, updates the task only if it still matches the entity tag. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
             parameters = {
                     @Parameter(name = "id", example = "1"),
-                    @Parameter(name = "observerId", example = "1")
+                    @Parameter(name = "observerId", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
@@ -377,14 +819,26 @@ public class TaskController {
                                     mediaType = "application/json"
                             )
                     }
+            ),
+            @ApiResponse(
+                    description = "Returns status 412 and error message " +
+                            "if task does not match the 'If-Match' entity tag",
+                    responseCode = "412",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
             )
     })
     @PatchMapping("/{id}/remove-observer")
     public Mono<ResponseEntity<TaskResponse>> removeObserverById(@PathVariable("id") String taskId,
-                                                                 @RequestParam("observerId") String observerId) {
-        return taskService.removeObserverById(taskId, observerId)
-                .map(taskMapper::taskToResponse)
-                .map(ResponseEntity::ok);
+                                                                 @RequestParam("observerId") String observerId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                                 String ifMatch) {
+        return taskService.removeObserverById(taskId, observerId, EntityTags.parseVersion(ifMatch, taskId))
+                .map(this::toTaggedResponse);
     }
 
     @Operation(
@@ -427,4 +881,18 @@ public class TaskController {
         return taskService.deleteById(id)
                 .thenReturn(ResponseEntity.noContent().build());
     }
+
+    private ResponseEntity<TaskResponse> toTaggedResponse(Task task) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(task))
+                .body(taskMapper.taskToResponse(task));
+    }
+
+    private int getPageSize(Integer limit) {
+        if (limit == null) {
+            return taskProperties.getDefaultPageSize();
+        }
+
+        return Math.max(1, Math.min(limit, taskProperties.getMaxPageSize()));
+    }
 }
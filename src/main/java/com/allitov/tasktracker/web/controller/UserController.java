@@ -1,14 +1,17 @@
 package com.allitov.tasktracker.web.controller;
 
+import com.allitov.tasktracker.configuration.properties.UserProperties;
 import com.allitov.tasktracker.model.service.UserService;
 import com.allitov.tasktracker.security.AppUserDetails;
 import com.allitov.tasktracker.web.dto.request.UserRequest;
 import com.allitov.tasktracker.web.dto.response.ErrorResponse;
 import com.allitov.tasktracker.web.dto.response.UserListResponse;
 import com.allitov.tasktracker.web.dto.response.UserResponse;
+import com.allitov.tasktracker.web.etag.EntityTags;
 import com.allitov.tasktracker.web.mapper.UserMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,9 +21,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -35,10 +42,20 @@ public class UserController {
 
     private final UserMapper userMapper;
 
+    private final UserProperties userProperties;
+
     @Operation(
             summary = "Get all users",
             description = "Get all users. Returns a list of users. " +
+                    "If 'limit' or 'after' is specified, returns a page of users ordered by id " +
+                    "and the cursor of the next page. " +
+                    "Returns status 304 if the 'If-None-Match' header matches the entity tag of the users list. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
+            parameters = {
+                    @Parameter(name = "limit", example = "100"),
+                    @Parameter(name = "after", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER)
+            },
             security = @SecurityRequirement(name = "Basic authorization")
     )
     @ApiResponses({
@@ -52,6 +69,10 @@ public class UserController {
                             )
                     }
             ),
+            @ApiResponse(
+                    description = "Returns status 304 if users list was not modified since the 'If-None-Match' entity tag",
+                    responseCode = "304"
+            ),
             @ApiResponse(
                     description = "Returns status 401 and error message if user is not authorized",
                     responseCode = "401",
@@ -74,19 +95,79 @@ public class UserController {
             )
     })
     @GetMapping
-    public Mono<ResponseEntity<UserListResponse>> getAll() {
+    public Mono<ResponseEntity<UserListResponse>> getAll(@RequestParam(value = "limit", required = false) Integer limit,
+                                                         @RequestParam(value = "after", required = false) String after,
+                                                         ServerWebExchange exchange) {
+        if (limit == null && after == null) {
+            return EntityTags.conditionalUsers(
+                    exchange,
+                    userService::findAllVersions,
+                    userService::findAll,
+                    userMapper::userListToUserListResponse
+            );
+        }
+
+        int pageSize = getPageSize(limit);
+        return EntityTags.conditionalUsers(
+                exchange,
+                () -> userService.findAllVersionsAfter(after, pageSize),
+                () -> userService.findAllAfter(after, pageSize),
+                users -> userMapper.userListToUserListResponse(users, pageSize)
+        );
+    }
+
+    @Operation(
+            summary = "Stream all users",
+            description = "Stream all users. Returns users as newline delimited JSON as soon as they are loaded. " +
+                    "Requires any of the authorities: ['USER', 'MANAGER']",
+            security = @SecurityRequirement(name = "Basic authorization")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and users stream if everything completed successfully",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = UserResponse.class),
+                                    mediaType = "application/x-ndjson"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponse> streamAll() {
         return userService.findAll()
-                .collectList()
-                .map(userMapper::userListToUserListResponse)
-                .map(ResponseEntity::ok);
+                .map(userMapper::userToResponse);
     }
 
     @Operation(
             summary = "Get user by id",
             description = "Get user by id. Returns user with requested id. " +
+                    "Returns status 304 if the 'If-None-Match' header matches the entity tag of the user. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
             parameters = {
-                    @Parameter(name = "id", example = "1")
+                    @Parameter(name = "id", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
@@ -101,6 +182,10 @@ public class UserController {
                             )
                     }
             ),
+            @ApiResponse(
+                    description = "Returns status 304 if user was not modified since the 'If-None-Match' entity tag",
+                    responseCode = "304"
+            ),
             @ApiResponse(
                     description = "Returns status 401 and error message if user is not authorized",
                     responseCode = "401",
@@ -133,10 +218,14 @@ public class UserController {
             )
     })
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<UserResponse>> getById(@PathVariable("id") String id) {
-        return userService.findById(id)
-                .map(userMapper::userToResponse)
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<UserResponse>> getById(@PathVariable("id") String id,
+                                                      ServerWebExchange exchange) {
+        return EntityTags.conditionalUser(
+                exchange,
+                () -> userService.findVersionById(id),
+                () -> userService.findById(id),
+                user -> Mono.just(userMapper.userToResponse(user))
+        );
     }
 
     @Operation(
@@ -160,6 +249,16 @@ public class UserController {
                                     mediaType = "application/json"
                             )
                     }
+            ),
+            @ApiResponse(
+                    description = "Returns status 409 and error message if username is already taken",
+                    responseCode = "409",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
             )
     })
     @PostMapping
@@ -170,16 +269,18 @@ public class UserController {
 
     @Operation(
             summary = "Update user by id",
-            description = "Update user by id. Returns status 204. " +
+            description = "Update user by id. Returns status 204 and the new entity tag. " +
+                    "If 'If-Match' is specified, updates the user only if it still matches the entity tag. " +
                     "Requires any of the authorities: ['USER', 'MANAGER']",
             parameters = {
-                    @Parameter(name = "id", example = "1")
+                    @Parameter(name = "id", example = "1"),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER)
             },
             security = @SecurityRequirement(name = "Basic authorization")
     )
     @ApiResponses({
             @ApiResponse(
-                    description = "Returns status 204 if everything completed successfully",
+                    description = "Returns status 204 and the new entity tag if everything completed successfully",
                     responseCode = "204"
             ),
             @ApiResponse(
@@ -221,14 +322,37 @@ public class UserController {
                                     mediaType = "application/json"
                             )
                     }
+            ),
+            @ApiResponse(
+                    description = "Returns status 412 and error message " +
+                            "if user does not match the 'If-Match' entity tag",
+                    responseCode = "412",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 409 and error message if username is already taken",
+                    responseCode = "409",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
             )
     })
     @PutMapping("/{id}")
     public Mono<ResponseEntity<Void>> updateById(@PathVariable("id") String id,
                                                  @AuthenticationPrincipal AppUserDetails userDetails,
-                                                 @Valid @RequestBody UserRequest request) {
-        return userService.update(userMapper.requestToUser(id, request))
-                .thenReturn(ResponseEntity.noContent().build());
+                                                 @Valid @RequestBody UserRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                 String ifMatch) {
+        return userService.update(userMapper.requestToUser(id, request), EntityTags.parseVersion(ifMatch, id))
+                .map(user -> ResponseEntity.noContent().eTag(EntityTags.of(user)).build());
     }
 
     @Operation(
@@ -272,4 +396,12 @@ public class UserController {
         return userService.deleteById(id)
                 .thenReturn(ResponseEntity.noContent().build());
     }
+
+    private int getPageSize(Integer limit) {
+        if (limit == null) {
+            return userProperties.getDefaultPageSize();
+        }
+
+        return Math.max(1, Math.min(limit, userProperties.getMaxPageSize()));
+    }
 }
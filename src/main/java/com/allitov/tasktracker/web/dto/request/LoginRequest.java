@@ -0,0 +1,24 @@
+package com.allitov.tasktracker.web.dto.request;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginRequest {
+
+    @NotBlank(message = ExceptionMessage.USER_INVALID_USERNAME)
+    @Schema(example = "Username")
+    private String username;
+
+    @NotBlank(message = ExceptionMessage.USER_INVALID_PASSWORD)
+    @Schema(example = "12345")
+    private String password;
+}
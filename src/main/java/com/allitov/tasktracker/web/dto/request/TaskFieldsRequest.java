@@ -0,0 +1,20 @@
+package com.allitov.tasktracker.web.dto.request;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.web.validation.TaskFieldsExpression;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFieldsRequest {
+
+    @TaskFieldsExpression(message = ExceptionMessage.TASK_INVALID_FIELDS)
+    @Schema(example = "id,name,status,assignee.username")
+    private String fields;
+}
@@ -0,0 +1,38 @@
+package com.allitov.tasktracker.web.dto.request;
+
+import com.allitov.tasktracker.error.ExceptionMessage;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.web.validation.ValuesOfEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterRequest {
+
+    @ValuesOfEnum(enumClass = Task.TaskStatus.class, message = ExceptionMessage.TASK_INVALID_STATUS)
+    @Schema(example = "TODO", allowableValues = {"TODO", "IN_PROGRESS", "DONE"})
+    private String status;
+
+    @Schema(example = "1")
+    private String assigneeId;
+
+    @Schema(example = "1")
+    private String authorId;
+
+    @Schema(example = "1")
+    private String observerId;
+
+    @Schema(example = "1970-01-01T00:00:00Z")
+    private Instant updatedFrom;
+
+    @Schema(example = "1970-01-02T00:00:00Z")
+    private Instant updatedTo;
+}
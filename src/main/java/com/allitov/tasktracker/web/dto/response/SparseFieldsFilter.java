@@ -0,0 +1,30 @@
+package com.allitov.tasktracker.web.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Set;
+
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    public static final String ID = "sparseFields";
+
+    public static FilterProvider filterProvider() {
+        return new SimpleFilterProvider().addFilter(ID, new SparseFieldsFilter());
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        Set<String> fields = pojo instanceof SparseFieldsResponse response ? response.getFields() : null;
+        if (fields == null || fields.contains(writer.getName())) {
+            writer.serializeAsField(pojo, generator, provider);
+        } else if (!generator.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, generator, provider);
+        }
+    }
+}
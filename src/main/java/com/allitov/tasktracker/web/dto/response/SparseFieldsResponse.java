@@ -0,0 +1,8 @@
+package com.allitov.tasktracker.web.dto.response;
+
+import java.util.Set;
+
+public interface SparseFieldsResponse {
+
+    Set<String> getFields();
+}
@@ -0,0 +1,28 @@
+package com.allitov.tasktracker.web.dto.response;
+
+import com.allitov.tasktracker.model.entity.TaskBatchResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchItemResponse {
+
+    @Schema(example = "0")
+    private long index;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(example = "1")
+    private String taskId;
+
+    @Schema(example = "CREATED")
+    private TaskBatchResult.Status status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(example = "User with id '1' not found")
+    private String errorMessage;
+}
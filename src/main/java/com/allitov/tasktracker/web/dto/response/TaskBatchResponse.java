@@ -0,0 +1,19 @@
+package com.allitov.tasktracker.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TaskBatchResponse {
+
+    @Schema(example = "1")
+    private long createdCount;
+
+    @Schema(example = "0")
+    private long failedCount;
+
+    private List<TaskBatchItemResponse> items = new ArrayList<>();
+}
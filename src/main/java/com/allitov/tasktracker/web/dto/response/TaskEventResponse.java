@@ -0,0 +1,23 @@
+package com.allitov.tasktracker.web.dto.response;
+
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventResponse {
+
+    @Schema(example = "UPDATED")
+    private TaskChangeEvent.Type type;
+
+    @Schema(example = "1")
+    private String taskId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TaskResponse task;
+}
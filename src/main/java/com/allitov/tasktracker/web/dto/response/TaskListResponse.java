@@ -1,5 +1,7 @@
 package com.allitov.tasktracker.web.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
 import java.util.ArrayList;
@@ -9,4 +11,8 @@ import java.util.List;
 public class TaskListResponse {
 
     private List<TaskResponse> tasks = new ArrayList<>();
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(example = "1")
+    private String nextCursor;
 }
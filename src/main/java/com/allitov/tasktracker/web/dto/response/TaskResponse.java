@@ -1,6 +1,8 @@
 package com.allitov.tasktracker.web.dto.response;
 
 import com.allitov.tasktracker.model.entity.Task;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,11 +11,13 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskResponse {
+@JsonFilter(SparseFieldsFilter.ID)
+public class TaskResponse implements SparseFieldsResponse {
 
     @Schema(example = "1")
     private String id;
@@ -38,4 +42,8 @@ public class TaskResponse {
     private UserResponse assignee;
 
     private List<UserResponse> observers = new ArrayList<>();
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Set<String> fields;
 }
@@ -1,5 +1,7 @@
 package com.allitov.tasktracker.web.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +15,8 @@ import java.util.List;
 public class UserListResponse {
 
     private List<UserResponse> users = new ArrayList<>();
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(example = "1")
+    private String nextCursor;
 }
@@ -1,6 +1,8 @@
 package com.allitov.tasktracker.web.dto.response;
 
 import com.allitov.tasktracker.model.entity.RoleType;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +13,8 @@ import java.util.Set;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserResponse {
+@JsonFilter(SparseFieldsFilter.ID)
+public class UserResponse implements SparseFieldsResponse {
 
     @Schema(example = "1")
     private String id;
@@ -24,4 +27,8 @@ public class UserResponse {
 
     @Schema(example = "[\"USER\"]")
     private Set<RoleType> roles;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Set<String> fields;
 }
@@ -0,0 +1,180 @@
+package com.allitov.tasktracker.web.etag;
+
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@UtilityClass
+public class EntityTags {
+
+    public final long UNKNOWN_VERSION = -1L;
+
+    private final int COLLECTION_TAG_BYTES = 16;
+
+    private final String ANY = "*";
+
+    private final String WEAK_PREFIX = "W/";
+
+    public String of(Task task) {
+        return of(task.getId(), task.getVersion());
+    }
+
+    public String of(User user) {
+        return of(user.getId(), user.getVersion());
+    }
+
+    private Mono<String> ofTasks(Flux<Task> tasks) {
+        return ofCollection(tasks, Task::getId, Task::getVersion);
+    }
+
+    private Mono<String> ofUsers(Flux<User> users) {
+        return ofCollection(users, User::getId, User::getVersion);
+    }
+
+    public Long parseVersion(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String entityTag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (entityTag.startsWith(WEAK_PREFIX) || !entityTag.startsWith(prefix) || !entityTag.endsWith("\"")) {
+            return UNKNOWN_VERSION;
+        }
+
+        try {
+            return Long.parseLong(entityTag.substring(prefix.length(), entityTag.length() - 1), 16);
+        } catch (NumberFormatException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    public <R> Mono<ResponseEntity<R>> conditionalTask(ServerWebExchange exchange,
+                                                       Supplier<Mono<Task>> version,
+                                                       Supplier<Mono<Task>> task,
+                                                       Function<Task, Mono<R>> response) {
+        return conditional(exchange, () -> version.get().map(EntityTags::of), task, EntityTags::of, response);
+    }
+
+    public <R> Mono<ResponseEntity<R>> conditionalUser(ServerWebExchange exchange,
+                                                       Supplier<Mono<User>> version,
+                                                       Supplier<Mono<User>> user,
+                                                       Function<User, Mono<R>> response) {
+        return conditional(exchange, () -> version.get().map(EntityTags::of), user, EntityTags::of, response);
+    }
+
+    public <R> Mono<ResponseEntity<R>> conditionalTasks(ServerWebExchange exchange,
+                                                        Supplier<Flux<Task>> versions,
+                                                        Supplier<Flux<Task>> tasks,
+                                                        Function<List<Task>, R> response) {
+        return conditional(
+                exchange,
+                () -> ofTasks(versions.get()),
+                () -> tasks.get().collectList(),
+                list -> ofCollection(list, Task::getId, Task::getVersion),
+                list -> Mono.just(response.apply(list))
+        );
+    }
+
+    public <R> Mono<ResponseEntity<R>> conditionalUsers(ServerWebExchange exchange,
+                                                        Supplier<Flux<User>> versions,
+                                                        Supplier<Flux<User>> users,
+                                                        Function<List<User>, R> response) {
+        return conditional(
+                exchange,
+                () -> ofUsers(versions.get()),
+                () -> users.get().collectList(),
+                list -> ofCollection(list, User::getId, User::getVersion),
+                list -> Mono.just(response.apply(list))
+        );
+    }
+
+    private String of(String id, Long version) {
+        return quote(id + "-" + toHex(version));
+    }
+
+    private <T, R> Mono<ResponseEntity<R>> conditional(ServerWebExchange exchange,
+                                                       Supplier<Mono<String>> currentEntityTag,
+                                                       Supplier<Mono<T>> entity,
+                                                       Function<T, String> entityTag,
+                                                       Function<T, Mono<R>> response) {
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+            return entity.get().flatMap(value -> response.apply(value)
+                    .map(body -> ResponseEntity.ok().eTag(entityTag.apply(value)).body(body)));
+        }
+
+        return currentEntityTag.get().flatMap(tag -> {
+            if (exchange.checkNotModified(tag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<R>build());
+            }
+
+            return entity.get().flatMap(value -> response.apply(value)
+                    .map(body -> ResponseEntity.ok().eTag(tag).body(body)));
+        });
+    }
+
+    private <T> Mono<String> ofCollection(Flux<T> entities,
+                                          Function<T, String> id,
+                                          Function<T, Long> version) {
+        return entities
+                .reduceWith(CollectionDigest::new,
+                        (digest, entity) -> digest.add(id.apply(entity), version.apply(entity)))
+                .map(CollectionDigest::toEntityTag);
+    }
+
+    private <T> String ofCollection(List<T> entities,
+                                    Function<T, String> id,
+                                    Function<T, Long> version) {
+        CollectionDigest digest = new CollectionDigest();
+        entities.forEach(entity -> digest.add(id.apply(entity), version.apply(entity)));
+
+        return digest.toEntityTag();
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toHex(Long version) {
+        return version == null ? "0" : Long.toHexString(version);
+    }
+
+    private String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private class CollectionDigest {
+
+        private final MessageDigest digest = newDigest();
+
+        private long count;
+
+        public CollectionDigest add(String id, Long version) {
+            digest.update((id + "-" + toHex(version) + "\n").getBytes(StandardCharsets.UTF_8));
+            count++;
+
+            return this;
+        }
+
+        public String toEntityTag() {
+            return quote(count + "-" + HexFormat.of().formatHex(digest.digest(), 0, COLLECTION_TAG_BYTES));
+        }
+    }
+}
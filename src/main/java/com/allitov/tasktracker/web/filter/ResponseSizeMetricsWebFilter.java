@@ -0,0 +1,118 @@
+package com.allitov.tasktracker.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ResponseSizeMetricsWebFilter implements WebFilter {
+
+    private static final String METRIC_NAME = "http.server.response.size";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        AtomicLong bytes = new AtomicLong();
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            @Override
+            @NonNull
+            public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body)
+                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+            }
+
+            @Override
+            @NonNull
+            public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body)
+                        .map(chunk -> Flux.from(chunk)
+                                .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+            }
+        };
+        ServerWebExchange decoratedExchange = exchange.mutate().response(response).build();
+
+        return chain.filter(decoratedExchange)
+                .doOnSuccess(result -> record(decoratedExchange, bytes.get(), null))
+                .doOnError(error -> record(decoratedExchange, bytes.get(), error))
+                .doOnCancel(() -> record(decoratedExchange, bytes.get(), null));
+    }
+
+    private void record(ServerWebExchange exchange, long bytes, Throwable failure) {
+        HttpStatusCode status = toStatus(exchange, failure);
+
+        DistributionSummary.builder(METRIC_NAME)
+                .baseUnit("bytes")
+                .tag("method", exchange.getRequest().getMethod().name())
+                .tag("uri", toUri(exchange, status))
+                .tag("outcome", toOutcome(status))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private HttpStatusCode toStatus(ServerWebExchange exchange, Throwable failure) {
+        if (failure instanceof ResponseStatusException responseStatusException) {
+            return responseStatusException.getStatusCode();
+        }
+        if (failure != null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private String toUri(ServerWebExchange exchange, HttpStatusCode status) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.getPatternString();
+        }
+        if (status != null && status.is3xxRedirection()) {
+            return "REDIRECTION";
+        }
+        if (status != null && status.value() == HttpStatus.NOT_FOUND.value()) {
+            return "NOT_FOUND";
+        }
+
+        return UNKNOWN;
+    }
+
+    private String toOutcome(HttpStatusCode status) {
+        HttpStatus.Series series = status == null ? null : HttpStatus.Series.resolve(status.value());
+        if (series == null) {
+            return UNKNOWN;
+        }
+
+        return switch (series) {
+            case INFORMATIONAL -> "INFORMATIONAL";
+            case SUCCESSFUL -> "SUCCESS";
+            case REDIRECTION -> "REDIRECTION";
+            case CLIENT_ERROR -> "CLIENT_ERROR";
+            case SERVER_ERROR -> "SERVER_ERROR";
+        };
+    }
+}
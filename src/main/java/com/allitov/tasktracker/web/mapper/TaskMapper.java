@@ -1,14 +1,26 @@
 package com.allitov.tasktracker.web.mapper;
 
 import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskBatchResult;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
 import com.allitov.tasktracker.web.dto.request.ChangeTaskRequest;
 import com.allitov.tasktracker.web.dto.request.CreateTaskRequest;
+import com.allitov.tasktracker.web.dto.request.TaskFieldsRequest;
+import com.allitov.tasktracker.web.dto.request.TaskFilterRequest;
+import com.allitov.tasktracker.web.dto.response.TaskBatchItemResponse;
+import com.allitov.tasktracker.web.dto.response.TaskBatchResponse;
+import com.allitov.tasktracker.web.dto.response.TaskEventResponse;
 import com.allitov.tasktracker.web.dto.response.TaskListResponse;
 import com.allitov.tasktracker.web.dto.response.TaskResponse;
+import com.allitov.tasktracker.web.dto.response.UserResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = UserMapper.class)
 public interface TaskMapper {
@@ -24,14 +36,80 @@ public interface TaskMapper {
         return task;
     }
 
+    TaskFilter filterRequestToTaskFilter(TaskFilterRequest request);
+
+    default TaskFields fieldsRequestToTaskFields(TaskFieldsRequest request) {
+        return TaskFields.parse(request.getFields());
+    }
+
     TaskResponse taskToResponse(Task task);
 
+    default TaskResponse taskToResponse(Task task, TaskFields fields) {
+        TaskResponse response = taskToResponse(task);
+        if (fields.isAll()) {
+            return response;
+        }
+
+        response.setFields(fields.getTaskFields());
+        selectUserFields(response.getAuthor(), fields.getUserFields(TaskFields.AUTHOR));
+        selectUserFields(response.getAssignee(), fields.getUserFields(TaskFields.ASSIGNEE));
+        response.getObservers().forEach(observer ->
+                selectUserFields(observer, fields.getUserFields(TaskFields.OBSERVERS)));
+
+        return response;
+    }
+
     List<TaskResponse> taskListToResponseList(List<Task> tasks);
 
+    TaskEventResponse taskEventToResponse(TaskChangeEvent event);
+
+    TaskBatchItemResponse batchResultToResponse(TaskBatchResult result);
+
+    List<TaskBatchItemResponse> batchResultListToResponseList(List<TaskBatchResult> results);
+
+    default TaskBatchResponse batchResultListToBatchResponse(List<TaskBatchResult> results) {
+        TaskBatchResponse response = new TaskBatchResponse();
+        response.setItems(batchResultListToResponseList(results));
+        response.setCreatedCount(results.stream()
+                .filter(result -> result.getStatus() == TaskBatchResult.Status.CREATED)
+                .count());
+        response.setFailedCount(results.size() - response.getCreatedCount());
+
+        return response;
+    }
+
     default TaskListResponse taskListToTaskListResponse(List<Task> tasks) {
         TaskListResponse response = new TaskListResponse();
         response.setTasks(taskListToResponseList(tasks));
 
         return response;
     }
+
+    default TaskListResponse taskListToTaskListResponse(List<Task> tasks, int limit) {
+        return taskListToTaskListResponse(tasks, limit, TaskFields.all());
+    }
+
+    default TaskListResponse taskListToTaskListResponse(List<Task> tasks, TaskFields fields) {
+        TaskListResponse response = new TaskListResponse();
+        response.setTasks(tasks.stream()
+                .map(task -> taskToResponse(task, fields))
+                .collect(Collectors.toList()));
+
+        return response;
+    }
+
+    default TaskListResponse taskListToTaskListResponse(List<Task> tasks, int limit, TaskFields fields) {
+        TaskListResponse response = taskListToTaskListResponse(tasks, fields);
+        if (!tasks.isEmpty() && tasks.size() >= limit) {
+            response.setNextCursor(tasks.get(tasks.size() - 1).getId());
+        }
+
+        return response;
+    }
+
+    private void selectUserFields(UserResponse user, Set<String> fields) {
+        if (user != null) {
+            user.setFields(fields);
+        }
+    }
 }
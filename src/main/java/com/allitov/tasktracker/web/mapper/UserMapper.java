@@ -31,4 +31,13 @@ public interface UserMapper {
 
         return response;
     }
+
+    default UserListResponse userListToUserListResponse(List<User> users, int limit) {
+        UserListResponse response = userListToUserListResponse(users);
+        if (!users.isEmpty() && users.size() >= limit) {
+            response.setNextCursor(users.get(users.size() - 1).getId());
+        }
+
+        return response;
+    }
 }
@@ -0,0 +1,13 @@
+package com.allitov.tasktracker.web.validation;
+
+import com.allitov.tasktracker.model.entity.TaskFields;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TaskFieldsExpressionValidator implements ConstraintValidator<TaskFieldsExpression, String> {
+
+    @Override
+    public boolean isValid(String expression, ConstraintValidatorContext context) {
+        return TaskFields.isValid(expression);
+    }
+}
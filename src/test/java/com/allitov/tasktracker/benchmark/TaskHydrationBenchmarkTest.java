@@ -0,0 +1,119 @@
+package com.allitov.tasktracker.benchmark;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.model.service.TaskService;
+import com.allitov.testutils.EnableTestcontainers;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@EnableTestcontainers
+public class TaskHydrationBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 50;
+
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @ParameterizedTest(name = "{0} observers")
+    @ValueSource(ints = {0, 10, 100, 1000})
+    @DisplayName("Benchmark zipStreams fan-out against $lookup aggregation")
+    public void givenObservers_whenFindById_thenCompareHydrationLatency(int observerCount) {
+        List<User> users = IntStream.rangeClosed(0, observerCount)
+                .mapToObj(this::createUser)
+                .toList();
+        userRepository.saveAll(users).blockLast();
+        String authorId = users.get(0).getId();
+        Task task = taskRepository.save(Task.builder()
+                .name("task")
+                .description("description")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .status(Task.TaskStatus.TODO)
+                .authorId(authorId)
+                .assigneeId(authorId)
+                .observerIds(users.stream().skip(1).map(User::getId).collect(Collectors.toSet()))
+                .build()
+        ).block();
+
+        assertEquals(observerCount, taskService.findById(task.getId()).block().getObservers().size());
+        assertEquals(observerCount, taskRepository.findByIdWithUsers(task.getId()).block().getObservers().size());
+
+        long[] zipStreams = measure(() -> taskService.findById(task.getId()));
+        long[] lookup = measure(() -> taskRepository.findByIdWithUsers(task.getId()));
+
+        log.info("observers={} zipStreams p50={}us p95={}us lookup p50={}us p95={}us",
+                observerCount,
+                percentile(zipStreams, 50), percentile(zipStreams, 95),
+                percentile(lookup, 50), percentile(lookup, 95));
+    }
+
+    private long[] measure(Supplier<Mono<Task>> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.get().block();
+        }
+
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.get().block();
+            latencies[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(latencies);
+
+        return latencies;
+    }
+
+    private long percentile(long[] sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)];
+    }
+
+    private User createUser(int index) {
+        return User.builder()
+                .id(new ObjectId().toHexString())
+                .username("benchmark_user" + index)
+                .email("benchmark" + index + "@email.com")
+                .password("password")
+                .roles(Set.of(RoleType.USER))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.allitov.tasktracker.configuration;
+
+import com.allitov.tasktracker.configuration.properties.MongoClientProperties;
+import com.allitov.tasktracker.metrics.MongoConnectionPoolDiagnosticsListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class MongoConfigurationTest {
+
+    @Test
+    @DisplayName("Test mongoClientSettingsCustomizer() applies properties")
+    public void givenProperties_whenCustomize_thenSettingsApplied() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMinSize(5);
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setMaxConnecting(4);
+        properties.getPool().setMaxWaitTime(Duration.ofSeconds(3));
+        properties.getPool().setMaxConnectionIdleTime(Duration.ofMinutes(10));
+        properties.getSocket().setConnectTimeout(Duration.ofSeconds(5));
+        properties.getSocket().setReadTimeout(Duration.ofSeconds(30));
+        properties.setCompressors(List.of(MongoClientProperties.Compressor.ZSTD,
+                MongoClientProperties.Compressor.SNAPPY));
+        properties.setReadPreference("secondaryPreferred");
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        new MongoConfiguration()
+                .mongoClientSettingsCustomizer(properties, new SimpleMeterRegistry())
+                .customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(50, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(4, settings.getConnectionPoolSettings().getMaxConnecting());
+        assertEquals(3000, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(600000, settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MILLISECONDS));
+        assertInstanceOf(MongoConnectionPoolDiagnosticsListener.class,
+                settings.getConnectionPoolSettings().getConnectionPoolListeners().get(0));
+        assertEquals(5000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(30000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "snappy"),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+        assertEquals(ReadPreference.secondaryPreferred(), settings.getReadPreference());
+    }
+
+    @Test
+    @DisplayName("Test mongoClientSettingsCustomizer() keeps connection string settings of unset properties")
+    public void givenUnsetProperties_whenCustomize_thenConnectionStringSettingsKept() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder().applyConnectionString(
+                new ConnectionString("mongodb://localhost/?maxPoolSize=7&readPreference=secondary&compressors=zlib"));
+
+        new MongoConfiguration()
+                .mongoClientSettingsCustomizer(new MongoClientProperties(), new SimpleMeterRegistry())
+                .customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(7, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(0, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(0, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zlib"),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+        assertEquals(ReadPreference.secondary(), settings.getReadPreference());
+        assertInstanceOf(MongoConnectionPoolDiagnosticsListener.class,
+                settings.getConnectionPoolSettings().getConnectionPoolListeners().get(0));
+    }
+}
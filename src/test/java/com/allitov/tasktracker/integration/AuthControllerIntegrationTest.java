@@ -0,0 +1,143 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.web.dto.request.LoginRequest;
+import com.allitov.tasktracker.web.dto.response.TokenResponse;
+import com.allitov.testutils.EnableTestcontainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@SpringBootTest
+@EnableTestcontainers
+@AutoConfigureWebTestClient
+public class AuthControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.save(
+                User.builder()
+                        .id("1")
+                        .username("user1")
+                        .email("email@email.com")
+                        .password(passwordEncoder.encode("1"))
+                        .roles(Set.of(RoleType.USER))
+                        .build()
+        ).block();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test login() status 200")
+    public void givenValidCredentials_whenLogin_thenTokenResponse() {
+        webTestClient.post().uri("/api/v2/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LoginRequest("user1", "1")), LoginRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.accessToken").isNotEmpty()
+                .jsonPath("$.tokenType").isEqualTo("Bearer")
+                .jsonPath("$.expiresIn").isEqualTo(900);
+    }
+
+    @Test
+    @DisplayName("Test login() status 400")
+    public void givenBlankCredentials_whenLogin_thenErrorResponse() {
+        webTestClient.post().uri("/api/v2/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LoginRequest("user1", "")), LoginRequest.class)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': 'Password must be specified'}");
+    }
+
+    @Test
+    @DisplayName("Test login() status 401")
+    public void givenInvalidCredentials_whenLogin_thenErrorResponse() {
+        webTestClient.post().uri("/api/v2/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LoginRequest("user1", "2")), LoginRequest.class)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': 'Authentication failure'}");
+    }
+
+    @Test
+    @DisplayName("Test bearer token authentication status 200")
+    public void givenIssuedToken_whenGetById_thenUserResponse() {
+        String token = login();
+
+        webTestClient.get().uri("/api/v2/user/{id}", "1")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{'id': '1', 'username': 'user1', 'email': 'email@email.com', 'roles': ['USER']}");
+    }
+
+    @Test
+    @DisplayName("Test bearer token authorities status 403")
+    public void givenIssuedTokenOfOtherUser_whenDeleteById_thenErrorResponse() {
+        String token = login();
+
+        webTestClient.delete().uri("/api/v2/user/{id}", "2")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Test bearer token authentication status 401")
+    public void givenInvalidToken_whenGetById_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/user/{id}", "1")
+                .headers(headers -> headers.setBearerAuth("invalid.token.value"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': 'Authentication failure'}");
+    }
+
+    private String login() {
+        return webTestClient.post().uri("/api/v2/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LoginRequest("user1", "1")), LoginRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TokenResponse.class)
+                .getResponseBody()
+                .blockFirst()
+                .getAccessToken();
+    }
+}
@@ -0,0 +1,164 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.web.dto.request.LoginRequest;
+import com.allitov.testutils.EnableTestcontainers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("mongo")
+@SpringBootTest
+@EnableTestcontainers
+@AutoConfigureWebTestClient
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.save(
+                User.builder()
+                        .id("metrics1")
+                        .username("metrics_user1")
+                        .email("metrics1@email.com")
+                        .password(passwordEncoder.encode("1"))
+                        .roles(Set.of(RoleType.USER))
+                        .build()
+        ).block();
+
+        taskRepository.save(
+                Task.builder()
+                        .id("metrics-task1")
+                        .name("task")
+                        .description("description")
+                        .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                        .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                        .status(Task.TaskStatus.TODO)
+                        .authorId("metrics1")
+                        .assigneeId("metrics1")
+                        .observerIds(Set.of("metrics1"))
+                        .build()
+        ).block();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test getById() records service, hydration, response size and mongo metrics")
+    @WithMockUser(authorities = {"USER"})
+    public void givenTask_whenGetById_thenMetricsRecorded() {
+        webTestClient.get().uri("/api/v2/task/{id}", "metrics-task1")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertNotNull(meterRegistry.find("app.service")
+                .tags("method", "findById", "outcome", "SUCCESS")
+                .timer());
+        assertTrue(meterRegistry.get("app.task.hydration.users")
+                .tag("path", "single")
+                .summary().count() > 0);
+        assertTrue(meterRegistry.get("http.server.response.size")
+                .tags("uri", "/api/v2/task/{id}", "method", "GET")
+                .summary().totalAmount() > 0);
+        assertNotNull(meterRegistry.find("mongodb.driver.commands").timer());
+        assertNotNull(meterRegistry.find("mongodb.driver.pool.size").gauge());
+        assertNotNull(meterRegistry.find("mongodb.driver.pool.checkedout").gauge());
+        assertNotNull(meterRegistry.find("mongodb.driver.pool.waitqueuesize").gauge());
+    }
+
+    @Test
+    @DisplayName("Test login() records password authentication metric")
+    public void givenValidCredentials_whenLogin_thenAuthenticationMetricRecorded() {
+        webTestClient.post().uri("/api/v2/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LoginRequest("metrics_user1", "1")), LoginRequest.class)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertTrue(meterRegistry.get("app.authentication")
+                .tags("type", "password", "outcome", "SUCCESS")
+                .timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Test unknown path records error response size metric")
+    @WithMockUser(authorities = {"USER"})
+    public void givenUnknownPath_whenGet_thenErrorResponseSizeRecorded() {
+        webTestClient.get().uri("/api/v2/unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertNotNull(meterRegistry.find("http.server.response.size")
+                .tags("method", "GET", "outcome", "CLIENT_ERROR")
+                .summary());
+    }
+
+    @Test
+    @DisplayName("Test prometheus endpoint status 200")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenManager_whenScrapePrometheus_thenMetrics() {
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.contains("mongodb_driver_commands_seconds")));
+    }
+
+    @Test
+    @DisplayName("Test prometheus endpoint status 401")
+    public void givenNoAuthentication_whenScrapePrometheus_thenUnauthorized() {
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Test prometheus endpoint status 403")
+    @WithMockUser(authorities = {"USER"})
+    public void givenUser_whenScrapePrometheus_thenForbidden() {
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
@@ -0,0 +1,98 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.job.MongoIndexProvisioner;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.testutils.EnableTestcontainers;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("mongo")
+@SpringBootTest
+@EnableTestcontainers
+public class MongoIndexIntegrationTest {
+
+    @Autowired
+    private MongoIndexProvisioner indexProvisioner;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void beforeEach() {
+        indexProvisioner.provision().block();
+    }
+
+    @Test
+    @DisplayName("Test findByUsername() uses username index")
+    public void givenIndexes_whenExplainFindByUsername_thenIndexScan() {
+        assertEquals(Set.of("username_1"), explainIndexScans(User.class, new Document("username", "user1")));
+    }
+
+    @Test
+    @DisplayName("Test tasks by assignee use assigneeId index")
+    public void givenIndexes_whenExplainFindByAssigneeId_thenIndexScan() {
+        assertEquals(Set.of("assigneeId_1"), explainIndexScans(Task.class, new Document("assigneeId", "1")));
+    }
+
+    @Test
+    @DisplayName("Test tasks by author use authorId index")
+    public void givenIndexes_whenExplainFindByAuthorId_thenIndexScan() {
+        assertEquals(Set.of("authorId_1"), explainIndexScans(Task.class, new Document("authorId", "1")));
+    }
+
+    @Test
+    @DisplayName("Test tasks by observer use multikey observerIds index")
+    public void givenIndexes_whenExplainFindByObserverId_thenIndexScan() {
+        assertEquals(Set.of("observerIds_1"), explainIndexScans(Task.class, new Document("observerIds", "1")));
+    }
+
+    @Test
+    @DisplayName("Test tasks by status use status and updatedAt index")
+    public void givenIndexes_whenExplainFindByStatus_thenIndexScan() {
+        assertEquals(Set.of("status_1_updatedAt_1"),
+                explainIndexScans(Task.class, new Document("status", Task.TaskStatus.TODO.name())));
+    }
+
+    @Test
+    @DisplayName("Test tasks by observer summary use observerSummaries index")
+    public void givenIndexes_whenExplainFindByObserverSummaryId_thenIndexScan() {
+        assertEquals(Set.of("observerSummaries._id_1"),
+                explainIndexScans(Task.class, new Document("observerSummaries._id", "1")));
+    }
+
+    private Set<String> explainIndexScans(Class<?> entityClass, Document filter) {
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                .flatMap(collection -> Mono.from(collection.find(filter).explain()))
+                .block();
+        Set<String> indexNames = new HashSet<>();
+        collectIndexScans(explain.get("queryPlanner", Document.class).get("winningPlan"), indexNames);
+
+        return indexNames;
+    }
+
+    private void collectIndexScans(Object plan, Set<String> indexNames) {
+        if (plan instanceof Map<?, ?> stage) {
+            if ("IXSCAN".equals(stage.get("stage"))) {
+                indexNames.add((String) stage.get("indexName"));
+            }
+            stage.values().forEach(value -> collectIndexScans(value, indexNames));
+        } else if (plan instanceof List<?> stages) {
+            stages.forEach(value -> collectIndexScans(value, indexNames));
+        }
+    }
+}
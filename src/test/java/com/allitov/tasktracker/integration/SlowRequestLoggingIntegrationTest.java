@@ -0,0 +1,128 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.testutils.EnableTestcontainers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "app.tracing.slow-request-threshold=0ms",
+        "management.tracing.sampling.probability=0.0"
+})
+@EnableTestcontainers
+@AutoConfigureWebTestClient
+@AutoConfigureObservability
+@ExtendWith(OutputCaptureExtension.class)
+public class SlowRequestLoggingIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.saveAll(
+                List.of(
+                        User.builder()
+                                .id("slow1")
+                                .username("slow_user1")
+                                .email("slow1@email.com")
+                                .password("1")
+                                .roles(Set.of(RoleType.USER))
+                                .build(),
+                        User.builder()
+                                .id("slow2")
+                                .username("slow_user2")
+                                .email("slow2@email.com")
+                                .password("2")
+                                .roles(Set.of(RoleType.USER))
+                                .build()
+                )
+        ).blockLast();
+
+        taskRepository.save(
+                Task.builder()
+                        .id("slow-task1")
+                        .name("task")
+                        .description("description")
+                        .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                        .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                        .status(Task.TaskStatus.TODO)
+                        .authorId("slow1")
+                        .assigneeId("slow2")
+                        .observerIds(Set.of("slow1"))
+                        .build()
+        ).block();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test getById() logs stage breakdown of slow request")
+    @WithMockUser(authorities = {"USER"})
+    public void givenZeroThreshold_whenGetById_thenStageBreakdownLogged(CapturedOutput output) {
+        webTestClient.get().uri("/api/v2/task/{id}", "slow-task1")
+                .exchange()
+                .expectStatus().isOk();
+
+        String log = output.getOut();
+        assertTrue(log.contains("Slow request GET /api/v2/task/slow-task1"));
+        assertTrue(log.contains("app.task.stage find took"));
+        assertTrue(log.contains("app.task.stage hydrate-author took"));
+        assertTrue(log.contains("app.task.stage hydrate-assignee took"));
+        assertTrue(log.contains("app.task.stage hydrate-observers took"));
+        assertTrue(log.contains("app.task.stage map took"));
+        assertNotNull(meterRegistry.find("app.task.stage").tag("stage", "hydrate-author").timer());
+    }
+
+    @Test
+    @DisplayName("Test getAll() logs hydration window stage of slow request")
+    @WithMockUser(authorities = {"USER"})
+    public void givenZeroThreshold_whenGetAll_thenStageBreakdownLogged(CapturedOutput output) {
+        webTestClient.get().uri("/api/v2/task")
+                .exchange()
+                .expectStatus().isOk();
+
+        String log = output.getOut();
+        assertTrue(log.contains("Slow request GET /api/v2/task"));
+        assertTrue(log.contains("app.task.stage find-all took"));
+        assertTrue(log.contains("app.task.stage hydrate-window took"));
+        assertFalse(log.contains("app.task.stage map took"));
+    }
+}
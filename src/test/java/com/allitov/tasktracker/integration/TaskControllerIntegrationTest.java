@@ -7,6 +7,8 @@ import com.allitov.tasktracker.model.repository.TaskRepository;
 import com.allitov.tasktracker.model.repository.UserRepository;
 import com.allitov.tasktracker.web.dto.request.ChangeTaskRequest;
 import com.allitov.tasktracker.web.dto.request.CreateTaskRequest;
+import com.allitov.tasktracker.web.dto.response.TaskListResponse;
+import com.allitov.tasktracker.web.dto.response.TaskResponse;
 import com.allitov.testutils.EnableTestcontainers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -25,8 +29,10 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @SpringBootTest
 @EnableTestcontainers
@@ -128,6 +134,75 @@ public class TaskControllerIntegrationTest {
                         "]}");
     }
 
+    @Test
+    @DisplayName("Test getAll() with matching If-None-Match status 304")
+    @WithMockUser(authorities = {"USER"})
+    public void givenMatchingEntityTagAndRoleUser_whenGetAll_thenNotModified() {
+        String entityTag = webTestClient.get().uri("/api/v2/task?limit={limit}", 2)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskListResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v2/task?limit={limit}", 2)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        taskRepository.deleteById("2").block();
+
+        webTestClient.get().uri("/api/v2/task?limit={limit}", 2)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test getAll() with fields and matching If-None-Match status 304")
+    @WithMockUser(authorities = {"USER"})
+    public void givenFieldsAndMatchingEntityTagAndRoleUser_whenGetAll_thenNotModified() {
+        String entityTag = webTestClient.get().uri("/api/v2/task?fields={fields}", "id,name")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskListResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v2/task?fields={fields}", "id,name")
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test getAll() with stale If-None-Match status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenStaleEntityTagAndRoleUser_whenGetAll_thenTaskListResponse() {
+        String entityTag = webTestClient.get().uri("/api/v2/task")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskListResponse.class)
+                .getResponseHeaders()
+                .getETag();
+        Task task = taskRepository.findById("1").block();
+        task.setUpdatedAt(Instant.parse("1970-01-02T00:00:00Z"));
+        taskRepository.save(task).block();
+
+        webTestClient.get().uri("/api/v2/task")
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertNotEquals(entityTag, value))
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(2);
+    }
+
     @Test
     @DisplayName("Test getAll() status 401")
     @WithAnonymousUser
@@ -152,6 +227,193 @@ public class TaskControllerIntegrationTest {
                 .json("{'errorMessage': 'No required authorities'}");
     }
 
+    @Test
+    @DisplayName("Test getAll() with limit status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenLimitAndRoleUser_whenGetAll_thenTaskListResponseWithNextCursor() {
+        webTestClient.get().uri("/api/v2/task?limit={limit}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("1")
+                .jsonPath("$.tasks[0].author.username").isEqualTo("user1")
+                .jsonPath("$.nextCursor").isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with cursor status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenCursorAndRoleUser_whenGetAll_thenNextTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?limit={limit}&after={after}", 2, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("2")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test getAll() with status filter status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenStatusAndRoleUser_whenGetAll_thenFilteredTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?status={status}", "DONE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("2")
+                .jsonPath("$.tasks[0].assignee.username").isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with assignee and observer filter status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenAssigneeIdAndObserverIdAndRoleUser_whenGetAll_thenFilteredTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?assigneeId={assigneeId}&observerId={observerId}", "1", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with author and updatedAt range filter status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenAuthorIdAndUpdatedRangeAndRoleUser_whenGetAll_thenFilteredTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?authorId={authorId}&updatedFrom={from}&updatedTo={to}",
+                        "2", "1970-01-01T00:00:00Z", "1970-01-02T00:00:00Z")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("2");
+
+        webTestClient.get().uri("/api/v2/task?updatedFrom={from}", "1970-01-02T00:00:00Z")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Test getAll() with filter and limit status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenFilterAndLimitAndRoleUser_whenGetAll_thenFilteredTaskPage() {
+        webTestClient.get().uri("/api/v2/task?status={status}&limit={limit}", "TODO", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("1")
+                .jsonPath("$.nextCursor").isEqualTo("1");
+
+        webTestClient.get().uri("/api/v2/task?status={status}&limit={limit}&after={after}", "TODO", 1, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(0)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test getAll() with invalid status filter status 400")
+    @WithMockUser(authorities = {"USER"})
+    public void givenInvalidStatusAndRoleUser_whenGetAll_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task?status={status}", "NOT_STATUS")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task status must be any of ['TODO', 'IN_PROGRESS', 'DONE']\"}");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with fields status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenFieldsAndRoleUser_whenGetAll_thenSparseTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?fields={fields}", "id,status,assignee.username")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(2)
+                .jsonPath("$.tasks[0].id").isEqualTo("1")
+                .jsonPath("$.tasks[0].status").isEqualTo("TODO")
+                .jsonPath("$.tasks[0].assignee.username").isEqualTo("user1")
+                .jsonPath("$.tasks[0].assignee.id").doesNotExist()
+                .jsonPath("$.tasks[0].assignee.email").doesNotExist()
+                .jsonPath("$.tasks[0].name").doesNotExist()
+                .jsonPath("$.tasks[0].description").doesNotExist()
+                .jsonPath("$.tasks[0].author").doesNotExist()
+                .jsonPath("$.tasks[0].observers").doesNotExist()
+                .jsonPath("$.tasks[1].assignee.username").isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with fields and limit status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenFieldsAndLimitAndRoleUser_whenGetAll_thenSparseTaskPage() {
+        webTestClient.get().uri("/api/v2/task?fields={fields}&limit={limit}", "name", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].name").isEqualTo("task1")
+                .jsonPath("$.tasks[0].id").doesNotExist()
+                .jsonPath("$.nextCursor").isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with invalid fields status 400")
+    @WithMockUser(authorities = {"USER"})
+    public void givenInvalidFieldsAndRoleUser_whenGetAll_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task?fields={fields}", "id,author.password")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task fields must be any of ['id', 'name', 'description', " +
+                        "'createdAt', 'updatedAt', 'status', 'author', 'assignee', 'observers'] " +
+                        "or a user field of a relation, e.g. 'assignee.username'\"}");
+    }
+
+    @Test
+    @DisplayName("Test streamAll() status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenRoleUser_whenStreamAll_thenTaskResponseStream() {
+        List<TaskResponse> tasks = webTestClient.get().uri("/api/v2/task/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(Set.of("1", "2"), tasks.stream().map(TaskResponse::getId).collect(Collectors.toSet()));
+        tasks.forEach(task -> assertEquals("user" + task.getId(), task.getAssignee().getUsername()));
+    }
+
+    @Test
+    @DisplayName("Test streamAll() status 401")
+    @WithAnonymousUser
+    public void givenAnonymousUser_whenStreamAll_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task/stream")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
     @Test
     @DisplayName("Test getById() status 200")
     @WithMockUser(authorities = {"USER"})
@@ -175,6 +437,89 @@ public class TaskControllerIntegrationTest {
                         "'observers': [{'id': '1', 'username': 'user1', 'email': 'email@email.com', 'roles': ['USER']}]}");
     }
 
+    @Test
+    @DisplayName("Test getById() with fields status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenIdAndFieldsAndRoleUser_whenGetById_thenSparseTaskResponse() {
+        webTestClient.get().uri("/api/v2/task/{id}?fields={fields}", "1", "id,name,observers.username,author")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'id': '1', " +
+                        "'name': 'task1', " +
+                        "'author': {'id': '1', 'username': 'user1', 'email': 'email@email.com', 'roles': ['USER']}, " +
+                        "'observers': [{'username': 'user1'}]}", true);
+    }
+
+    @Test
+    @DisplayName("Test getById() with invalid fields status 400")
+    @WithMockUser(authorities = {"USER"})
+    public void givenIdAndInvalidFieldsAndRoleUser_whenGetById_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task/{id}?fields={fields}", "1", "title")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("Test getById() with matching If-None-Match status 304")
+    @WithMockUser(authorities = {"USER"})
+    public void givenMatchingEntityTagAndRoleUser_whenGetById_thenNotModified() {
+        String id = "1";
+        String entityTag = webTestClient.get().uri("/api/v2/task/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v2/task/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test getById() with stale If-None-Match status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenStaleEntityTagAndRoleUser_whenGetById_thenTaskResponse() {
+        String id = "1";
+        String entityTag = webTestClient.get().uri("/api/v2/task/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResponse.class)
+                .getResponseHeaders()
+                .getETag();
+        Task task = taskRepository.findById(id).block();
+        task.setUpdatedAt(Instant.parse("1970-01-02T00:00:00Z"));
+        taskRepository.save(task).block();
+
+        String updatedEntityTag = webTestClient.get().uri("/api/v2/task/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.updatedAt").isEqualTo("1970-01-02T00:00:00Z")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertNotEquals(entityTag, updatedEntityTag);
+    }
+
+    @Test
+    @DisplayName("Test getById() with If-None-Match status 404")
+    @WithMockUser(authorities = {"USER"})
+    public void givenNonexistentIdAndEntityTagAndRoleUser_whenGetById_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task/{id}", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"10-0\"")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     @DisplayName("Test getById() status 401")
     @WithAnonymousUser
@@ -307,6 +652,89 @@ public class TaskControllerIntegrationTest {
         assertEquals(2, taskRepository.findAll().count().block());
     }
 
+    @Test
+    @DisplayName("Test createAll() status 200")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenCreateTaskRequestsAndRoleManager_whenCreateAll_thenTaskBatchResponse() {
+        CreateTaskRequest invalidRequest = createCreateTaskRequest();
+        invalidRequest.setObserverIds(Set.of("10"));
+
+        webTestClient.post().uri("/api/v2/task/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createCreateTaskRequest(), invalidRequest, createCreateTaskRequest()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.createdCount").isEqualTo(2)
+                .jsonPath("$.failedCount").isEqualTo(1)
+                .jsonPath("$.items[0].index").isEqualTo(0)
+                .jsonPath("$.items[0].status").isEqualTo("CREATED")
+                .jsonPath("$.items[0].taskId").isNotEmpty()
+                .jsonPath("$.items[1].status").isEqualTo("FAILED")
+                .jsonPath("$.items[1].errorMessage").isEqualTo("User with id '10' not found")
+                .jsonPath("$.items[2].status").isEqualTo("CREATED");
+
+        assertEquals(4, taskRepository.findAll().count().block());
+    }
+
+    @Test
+    @DisplayName("Test createAll() status 200 with newline delimited JSON")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenNdjsonCreateTaskRequestsAndRoleManager_whenCreateAll_thenTaskBatchResponse() {
+        String body = "{\"name\": \"new_task1\", \"description\": \"description\", \"status\": \"TODO\", " +
+                "\"authorId\": \"1\", \"assigneeId\": \"2\", \"observerIds\": [\"1\", \"2\"]}\n" +
+                "{\"name\": \"new_task2\", \"description\": \"description\", \"status\": \"DONE\", " +
+                "\"authorId\": \"2\", \"assigneeId\": \"1\", \"observerIds\": []}\n";
+
+        webTestClient.post().uri("/api/v2/task/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.createdCount").isEqualTo(2)
+                .jsonPath("$.failedCount").isEqualTo(0);
+
+        assertEquals(Set.of("task1", "task2", "new_task1", "new_task2"),
+                taskRepository.findAll().map(Task::getName).collect(Collectors.toSet()).block());
+    }
+
+    @Test
+    @DisplayName("Test createAll() status 400")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenInvalidCreateTaskRequestsAndRoleManager_whenCreateAll_thenErrorResponse() {
+        CreateTaskRequest invalidRequest = createCreateTaskRequest();
+        invalidRequest.setStatus("NO_STATUS");
+
+        webTestClient.post().uri("/api/v2/task/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createCreateTaskRequest(), invalidRequest))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task status must be any of ['TODO', 'IN_PROGRESS', 'DONE']\"}");
+
+        assertEquals(2, taskRepository.findAll().count().block());
+    }
+
+    @Test
+    @DisplayName("Test createAll() status 403")
+    @WithMockUser(authorities = {"USER"})
+    public void givenCreateTaskRequestsAndRoleUser_whenCreateAll_thenErrorResponse() {
+        webTestClient.post().uri("/api/v2/task/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createCreateTaskRequest()))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': 'No required authorities'}");
+
+        assertEquals(2, taskRepository.findAll().count().block());
+    }
+
     @Test
     @DisplayName("Test updateById() status 204")
     @WithMockUser(authorities = {"MANAGER"})
@@ -314,14 +742,59 @@ public class TaskControllerIntegrationTest {
         String id = "1";
         ChangeTaskRequest request = createChangeTaskRequest();
 
-        webTestClient.put().uri("/api/v2/task/{id}", id)
+        String entityTag = webTestClient.put().uri("/api/v2/task/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(Mono.just(request), ChangeTaskRequest.class)
                 .exchange()
                 .expectStatus().isNoContent()
-                .expectBody().isEmpty();
+                .expectBody().isEmpty()
+                .getResponseHeaders()
+                .getETag();
 
         assertEquals("changed_task", taskRepository.findById(id).map(Task::getName).block());
+        assertEquals(getEntityTag(id), entityTag);
+    }
+
+    @Test
+    @DisplayName("Test updateById() with stale If-Match status 412")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenStaleEntityTagAndRoleManager_whenUpdateById_thenErrorResponse() {
+        String id = "1";
+        String entityTag = getEntityTag(id);
+
+        String updatedEntityTag = webTestClient.put().uri("/api/v2/task/{id}", id)
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createChangeTaskRequest()), ChangeTaskRequest.class)
+                .exchange()
+                .expectStatus().isNoContent()
+                .returnResult(Void.class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotEquals(entityTag, updatedEntityTag);
+        webTestClient.put().uri("/api/v2/task/{id}", id)
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createChangeTaskRequest()), ChangeTaskRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task with id '1' does not match the 'If-Match' entity tag\"}");
+
+        assertEquals(1L, taskRepository.findById(id).map(Task::getVersion).block());
+    }
+
+    @Test
+    @DisplayName("Test updateById() with any If-Match status 204")
+    @WithMockUser(authorities = {"MANAGER"})
+    public void givenAnyEntityTagAndRoleManager_whenUpdateById_thenVoid() {
+        webTestClient.put().uri("/api/v2/task/{id}", "1")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createChangeTaskRequest()), ChangeTaskRequest.class)
+                .exchange()
+                .expectStatus().isNoContent();
     }
 
     @Test
@@ -393,6 +866,38 @@ public class TaskControllerIntegrationTest {
                 .json("{'errorMessage': \"Task with id '10' not found\"}");
     }
 
+    @Test
+    @DisplayName("Test addObserverById() with If-Match status 200 and new entity tag")
+    @WithMockUser(authorities = {"USER"})
+    public void givenEntityTagAndRoleUser_whenAddObserverById_thenTaggedTaskResponse() {
+        String taskId = "2";
+        String entityTag = getEntityTag(taskId);
+
+        String updatedEntityTag = webTestClient.patch()
+                .uri("/api/v2/task/{id}/add-observer?observerId={observerId}", taskId, "1")
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.observers.length()").isEqualTo(1)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertEquals(getEntityTag(taskId), updatedEntityTag);
+        webTestClient.patch()
+                .uri("/api/v2/task/{id}/remove-observer?observerId={observerId}", taskId, "1")
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.patch()
+                .uri("/api/v2/task/{id}/add-observers?observerIds={observerIds}", taskId, "2")
+                .header(HttpHeaders.IF_MATCH, "W/" + updatedEntityTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertEquals(Set.of("1"), taskRepository.findById(taskId).map(Task::getObserverIds).block());
+    }
+
     @Test
     @DisplayName("Test addObserverById() status 200")
     @WithMockUser(authorities = {"USER"})
@@ -455,6 +960,77 @@ public class TaskControllerIntegrationTest {
                 .json("{'errorMessage': \"Task with id '10' not found\"}");
     }
 
+    @Test
+    @DisplayName("Test addObserversById() status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenTaskIdAndObserverIdsAndRoleUser_whenAddObserversById_thenTaskResponse() {
+        webTestClient.patch().uri("/api/v2/task/{id}/add-observers?observerIds={observerIds}", "2", "1,2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.observers.length()").isEqualTo(2);
+
+        assertEquals(Set.of("1", "2"), taskRepository.findById("2").map(Task::getObserverIds).block());
+    }
+
+    @Test
+    @DisplayName("Test addObserversById() status 404")
+    @WithMockUser(authorities = {"USER"})
+    public void givenNonexistentObserverIdAndRoleUser_whenAddObserversById_thenErrorResponse() {
+        webTestClient.patch().uri("/api/v2/task/{id}/add-observers?observerIds={observerIds}", "2", "1,10")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"User with id '10' not found\"}");
+
+        assertEquals(Set.of(), taskRepository.findById("2").map(Task::getObserverIds).block());
+    }
+
+    @Test
+    @DisplayName("Test addObserversByIds() status 204")
+    @WithMockUser(authorities = {"USER"})
+    public void givenTaskIdsAndObserverIdsAndRoleUser_whenAddObserversByIds_thenVoid() {
+        webTestClient.patch().uri("/api/v2/task/add-observers?taskIds={taskIds}&observerIds={observerIds}",
+                        "1,2", "1,2")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+
+        taskRepository.findAll()
+                .doOnNext(task -> assertEquals(Set.of("1", "2"), task.getObserverIds()))
+                .blockLast();
+    }
+
+    @Test
+    @DisplayName("Test addObserversByIds() status 404")
+    @WithMockUser(authorities = {"USER"})
+    public void givenNonexistentTaskIdAndRoleUser_whenAddObserversByIds_thenErrorResponse() {
+        webTestClient.patch().uri("/api/v2/task/add-observers?taskIds={taskIds}&observerIds={observerIds}",
+                        "2,10", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task with id '10' not found\"}");
+
+        assertEquals(Set.of(), taskRepository.findById("2").map(Task::getObserverIds).block());
+    }
+
+    @Test
+    @DisplayName("Test addObserversByIds() status 403")
+    @WithMockUser(authorities = {"NO_ROLE"})
+    public void givenTaskIdsAndObserverIdsAndInvalidRole_whenAddObserversByIds_thenErrorResponse() {
+        webTestClient.patch().uri("/api/v2/task/add-observers?taskIds={taskIds}&observerIds={observerIds}",
+                        "1,2", "1")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': 'No required authorities'}");
+    }
+
     @Test
     @DisplayName("Test removeObserverById() status 200")
     @WithMockUser(authorities = {"USER"})
@@ -572,6 +1148,15 @@ public class TaskControllerIntegrationTest {
                 .build();
     }
 
+    private String getEntityTag(String id) {
+        return webTestClient.get().uri("/api/v2/task/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResponse.class)
+                .getResponseHeaders()
+                .getETag();
+    }
+
     private ChangeTaskRequest createChangeTaskRequest() {
         return ChangeTaskRequest.builder()
                 .name("changed_task")
@@ -0,0 +1,199 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.web.dto.response.TaskEventResponse;
+import com.allitov.testutils.EnableTestcontainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@EnableTestcontainers
+@AutoConfigureWebTestClient
+public class TaskEventsIntegrationTest {
+
+    private static final Duration SUBSCRIPTION_DELAY = Duration.ofMillis(500);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.saveAll(
+                List.of(
+                        User.builder()
+                                .id("events1")
+                                .username("events_user1")
+                                .email("events1@email.com")
+                                .password("1")
+                                .roles(Set.of(RoleType.USER))
+                                .build(),
+                        User.builder()
+                                .id("events2")
+                                .username("events_user2")
+                                .email("events2@email.com")
+                                .password("2")
+                                .roles(Set.of(RoleType.MANAGER, RoleType.USER))
+                                .build()
+                )
+        ).blockLast();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test streamEvents() emits hydrated created and deleted events")
+    @WithMockUser(authorities = {"USER"})
+    public void givenSubscriber_whenTaskCreatedAndDeleted_thenEvents() {
+        Flux<ServerSentEvent<TaskEventResponse>> events = subscribe("/api/v2/task/events", null);
+
+        Mono.delay(SUBSCRIPTION_DELAY)
+                .then(taskRepository.save(createTask("events-task1", "events1")))
+                .then(taskRepository.deleteById("events-task1"))
+                .subscribe();
+
+        StepVerifier.create(events)
+                .assertNext(event -> {
+                    assertEquals(TaskChangeEvent.Type.CREATED, event.data().getType());
+                    assertEquals("events-task1", event.data().getTaskId());
+                    assertEquals("events_user1", event.data().getTask().getAssignee().getUsername());
+                })
+                .assertNext(event -> {
+                    assertEquals(TaskChangeEvent.Type.DELETED, event.data().getType());
+                    assertEquals("events-task1", event.data().getTaskId());
+                    assertNull(event.data().getTask());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Test streamEvents() filters events by assignee")
+    @WithMockUser(authorities = {"USER"})
+    public void givenAssigneeFilter_whenTasksCreated_thenOnlyMatchingEvents() {
+        Flux<ServerSentEvent<TaskEventResponse>> events =
+                subscribe("/api/v2/task/events?assigneeId=events2", null);
+
+        Mono.delay(SUBSCRIPTION_DELAY)
+                .then(taskRepository.save(createTask("events-task1", "events1")))
+                .then(taskRepository.save(createTask("events-task2", "events2")))
+                .subscribe();
+
+        StepVerifier.create(events)
+                .assertNext(event -> assertEquals("events-task2", event.data().getTaskId()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Test streamEvents() resumes after Last-Event-ID")
+    @WithMockUser(authorities = {"USER"})
+    public void givenLastEventId_whenReconnect_thenMissedEvents() {
+        Flux<ServerSentEvent<TaskEventResponse>> events = subscribe("/api/v2/task/events", null);
+        Mono.delay(SUBSCRIPTION_DELAY)
+                .then(taskRepository.save(createTask("events-task1", "events1")))
+                .subscribe();
+        String lastEventId = events.next().map(ServerSentEvent::id).block(TIMEOUT);
+
+        taskRepository.save(createTask("events-task2", "events2")).block();
+
+        StepVerifier.create(subscribe("/api/v2/task/events", lastEventId))
+                .assertNext(event -> {
+                    assertEquals(TaskChangeEvent.Type.CREATED, event.data().getType());
+                    assertEquals("events-task2", event.data().getTaskId());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Test streamEvents() switches resumed subscriber to live events without duplicates")
+    @WithMockUser(authorities = {"USER"})
+    public void givenLastEventId_whenReconnectAndTasksCreated_thenMissedAndLiveEventsOnce() {
+        Flux<ServerSentEvent<TaskEventResponse>> events = subscribe("/api/v2/task/events", null);
+        Mono.delay(SUBSCRIPTION_DELAY)
+                .then(taskRepository.save(createTask("events-task1", "events1")))
+                .subscribe();
+        String lastEventId = events.next().map(ServerSentEvent::id).block(TIMEOUT);
+
+        taskRepository.save(createTask("events-task2", "events2")).block();
+        Flux<ServerSentEvent<TaskEventResponse>> resumedEvents = subscribe("/api/v2/task/events", lastEventId);
+
+        Mono.delay(SUBSCRIPTION_DELAY)
+                .then(taskRepository.save(createTask("events-task3", "events1")))
+                .then(taskRepository.save(createTask("events-task4", "events2")))
+                .subscribe();
+
+        StepVerifier.create(resumedEvents)
+                .assertNext(event -> assertEquals("events-task2", event.data().getTaskId()))
+                .assertNext(event -> assertEquals("events-task3", event.data().getTaskId()))
+                .assertNext(event -> assertEquals("events-task4", event.data().getTaskId()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    private Flux<ServerSentEvent<TaskEventResponse>> subscribe(String uri, String lastEventId) {
+        return webTestClient.get().uri(uri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (lastEventId != null) {
+                        headers.set("Last-Event-ID", lastEventId);
+                    }
+                })
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskEventResponse>>() {})
+                .getResponseBody()
+                .filter(event -> event.data() != null);
+    }
+
+    private Task createTask(String id, String assigneeId) {
+        return Task.builder()
+                .id(id)
+                .name("task")
+                .description("description")
+                .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .status(Task.TaskStatus.TODO)
+                .authorId("events1")
+                .assigneeId(assigneeId)
+                .build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskFields;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.testutils.EnableTestcontainers;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "app.task.hydration-mode=LOOKUP")
+@EnableTestcontainers
+@AutoConfigureWebTestClient
+public class TaskLookupIntegrationTest {
+
+    private static final String AUTHOR_ID = new ObjectId().toHexString();
+
+    private static final String ASSIGNEE_ID = "lookup2";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.saveAll(
+                List.of(
+                        User.builder()
+                                .id(AUTHOR_ID)
+                                .username("lookup_user1")
+                                .email("lookup1@email.com")
+                                .password("1")
+                                .roles(Set.of(RoleType.USER))
+                                .build(),
+                        User.builder()
+                                .id(ASSIGNEE_ID)
+                                .username("lookup_user2")
+                                .email("lookup2@email.com")
+                                .password("2")
+                                .roles(Set.of(RoleType.MANAGER, RoleType.USER))
+                                .build()
+                )
+        ).blockLast();
+
+        taskRepository.saveAll(
+                List.of(
+                        createTask("lookup1", Set.of(AUTHOR_ID, ASSIGNEE_ID)),
+                        createTask("lookup2", Set.of())
+                )
+        ).blockLast();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test findByIdWithUsers() hydrates users without passwords")
+    public void givenTask_whenFindByIdWithUsers_thenHydratedTask() {
+        Task task = taskRepository.findByIdWithUsers("lookup1").block();
+
+        assertEquals("lookup_user1", task.getAuthor().getUsername());
+        assertEquals(Set.of(RoleType.USER), task.getAuthor().getRoles());
+        assertNull(task.getAuthor().getPassword());
+        assertEquals("lookup_user2", task.getAssignee().getUsername());
+        assertNull(task.getAssignee().getPassword());
+        assertEquals(Set.of("lookup_user1", "lookup_user2"),
+                task.getObservers().stream().map(User::getUsername).collect(Collectors.toSet()));
+        task.getObservers().forEach(observer -> assertNull(observer.getPassword()));
+    }
+
+    @Test
+    @DisplayName("Test findAllWithUsersAfter() pages by id")
+    public void givenCursor_whenFindAllWithUsersAfter_thenNextPage() {
+        List<Task> firstPage = taskRepository.findAllWithUsersAfter(new TaskFilter(), null, 1)
+                .collectList().block();
+        List<Task> secondPage = taskRepository.findAllWithUsersAfter(new TaskFilter(), "lookup1", 1)
+                .collectList().block();
+
+        assertEquals(List.of("lookup1"), firstPage.stream().map(Task::getId).toList());
+        assertEquals(List.of("lookup2"), secondPage.stream().map(Task::getId).toList());
+        assertEquals("lookup_user1", secondPage.get(0).getAuthor().getUsername());
+        assertEquals(Set.of(), secondPage.get(0).getObservers());
+    }
+
+    @Test
+    @DisplayName("Test findAllWithUsers() applies filter")
+    public void givenFilter_whenFindAllWithUsers_thenMatchingTasks() {
+        TaskFilter filter = TaskFilter.builder()
+                .status(Task.TaskStatus.TODO)
+                .observerId(AUTHOR_ID)
+                .updatedFrom(Instant.parse("1970-01-01T00:00:00Z"))
+                .build();
+
+        List<Task> tasks = taskRepository.findAllWithUsers(filter).collectList().block();
+
+        assertEquals(List.of("lookup1"), tasks.stream().map(Task::getId).toList());
+        assertEquals("lookup_user1", tasks.get(0).getAuthor().getUsername());
+    }
+
+    @Test
+    @DisplayName("Test getById() status 200 with lookup hydration")
+    @WithMockUser(authorities = {"USER"})
+    public void givenIdAndRoleUser_whenGetById_thenTaskResponse() {
+        webTestClient.get().uri("/api/v2/task/{id}", "lookup1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.author.id").isEqualTo(AUTHOR_ID)
+                .jsonPath("$.assignee.username").isEqualTo("lookup_user2")
+                .jsonPath("$.observers.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test findByIdWithUsers() with fields skips excluded relations")
+    public void givenFields_whenFindByIdWithUsers_thenOnlyRequestedFields() {
+        Task task = taskRepository.findByIdWithUsers("lookup1", TaskFields.parse("name,assignee.username"))
+                .block();
+
+        assertEquals("task", task.getName());
+        assertNull(task.getDescription());
+        assertNull(task.getAuthor());
+        assertEquals(Set.of(), task.getObservers());
+        assertEquals("lookup_user2", task.getAssignee().getUsername());
+    }
+
+    @Test
+    @DisplayName("Test getAll() with fields status 200 with lookup hydration")
+    @WithMockUser(authorities = {"USER"})
+    public void givenFieldsAndRoleUser_whenGetAll_thenSparseTaskListResponse() {
+        webTestClient.get().uri("/api/v2/task?fields={fields}&observerId={observerId}",
+                        "id,observers.username", AUTHOR_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.tasks.length()").isEqualTo(1)
+                .jsonPath("$.tasks[0].id").isEqualTo("lookup1")
+                .jsonPath("$.tasks[0].observers.length()").isEqualTo(2)
+                .jsonPath("$.tasks[0].observers[0].username").exists()
+                .jsonPath("$.tasks[0].observers[0].email").doesNotExist()
+                .jsonPath("$.tasks[0].author").doesNotExist()
+                .jsonPath("$.tasks[0].status").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test getById() status 404 with lookup hydration")
+    @WithMockUser(authorities = {"USER"})
+    public void givenNonexistentIdAndRoleUser_whenGetById_thenErrorResponse() {
+        webTestClient.get().uri("/api/v2/task/{id}", "lookup10")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"Task with id 'lookup10' not found\"}");
+    }
+
+    private Task createTask(String id, Set<String> observerIds) {
+        return Task.builder()
+                .id(id)
+                .name("task")
+                .description("description")
+                .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .status(Task.TaskStatus.TODO)
+                .authorId(AUTHOR_ID)
+                .assigneeId(ASSIGNEE_ID)
+                .observerIds(observerIds)
+                .build();
+    }
+}
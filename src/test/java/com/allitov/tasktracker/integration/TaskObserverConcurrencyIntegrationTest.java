@@ -0,0 +1,113 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.model.service.TaskService;
+import com.allitov.testutils.EnableTestcontainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@EnableTestcontainers
+public class TaskObserverConcurrencyIntegrationTest {
+
+    private static final int OBSERVER_COUNT = 50;
+
+    private static final String TASK_ID = "concurrent-task";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<String> observerIds;
+
+    @BeforeEach
+    public void beforeEach() {
+        List<User> users = IntStream.rangeClosed(0, OBSERVER_COUNT)
+                .mapToObj(i -> User.builder()
+                        .id("concurrent" + i)
+                        .username("concurrent_user" + i)
+                        .email("concurrent" + i + "@email.com")
+                        .password("password")
+                        .roles(Set.of(RoleType.USER))
+                        .build())
+                .toList();
+        userRepository.saveAll(users).blockLast();
+        observerIds = users.stream().skip(1).map(User::getId).toList();
+
+        taskRepository.save(Task.builder()
+                .id(TASK_ID)
+                .name("task")
+                .description("description")
+                .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .status(Task.TaskStatus.TODO)
+                .authorId("concurrent0")
+                .assigneeId("concurrent0")
+                .build()
+        ).block();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test concurrent addObserverById() loses no observers")
+    public void givenConcurrentRequests_whenAddObserverById_thenAllObserversAdded() {
+        Flux.fromIterable(observerIds)
+                .flatMap(observerId -> taskService.addObserverById(TASK_ID, observerId)
+                        .subscribeOn(Schedulers.parallel()))
+                .blockLast();
+
+        assertEquals(Set.copyOf(observerIds), taskRepository.findById(TASK_ID).block().getObserverIds());
+    }
+
+    @Test
+    @DisplayName("Test concurrent addObserverById() and removeObserverById() lose no updates")
+    public void givenConcurrentRequests_whenAddAndRemoveObserverById_thenNoUpdatesLost() {
+        List<String> removedIds = observerIds.subList(0, OBSERVER_COUNT / 2);
+        List<String> addedIds = observerIds.subList(OBSERVER_COUNT / 2, OBSERVER_COUNT);
+        Task task = taskRepository.findById(TASK_ID).block();
+        task.setObserverIds(Set.copyOf(removedIds));
+        taskRepository.save(task).block();
+
+        Flux.merge(
+                        Flux.fromIterable(removedIds)
+                                .map(observerId -> taskService.removeObserverById(TASK_ID, observerId)
+                                        .subscribeOn(Schedulers.parallel())),
+                        Flux.fromIterable(addedIds)
+                                .map(observerId -> taskService.addObserverById(TASK_ID, observerId)
+                                        .subscribeOn(Schedulers.parallel()))
+                )
+                .flatMap(operation -> operation)
+                .blockLast();
+
+        assertEquals(addedIds.stream().collect(Collectors.toSet()),
+                taskRepository.findById(TASK_ID).block().getObserverIds());
+    }
+}
@@ -0,0 +1,215 @@
+package com.allitov.tasktracker.integration;
+
+import com.allitov.tasktracker.job.TaskUserSummaryBackfillJob;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.entity.UserSummary;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.model.service.TaskService;
+import com.allitov.tasktracker.model.service.UserService;
+import com.allitov.testutils.EnableTestcontainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "app.task.hydration-mode=EMBEDDED")
+@EnableTestcontainers
+public class TaskUserSummaryIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskUserSummaryBackfillJob backfillJob;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository.saveAll(
+                List.of(
+                        User.builder()
+                                .id("summary1")
+                                .username("summary_user1")
+                                .email("summary1@email.com")
+                                .password("1")
+                                .roles(Set.of(RoleType.USER))
+                                .build(),
+                        User.builder()
+                                .id("summary2")
+                                .username("summary_user2")
+                                .email("summary2@email.com")
+                                .password("2")
+                                .roles(Set.of(RoleType.MANAGER, RoleType.USER))
+                                .build()
+                )
+        ).blockLast();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test create() embeds user summaries")
+    public void givenTask_whenCreate_thenUserSummariesEmbedded() {
+        String id = taskService.create(createTask()).map(Task::getId).block();
+
+        Task stored = taskRepository.findById(id).block();
+
+        assertEquals(new UserSummary("summary1", "summary_user1", "summary1@email.com", Set.of(RoleType.USER), 0L),
+                stored.getAuthorSummary());
+        assertEquals(new UserSummary("summary2", "summary_user2", "summary2@email.com",
+                Set.of(RoleType.MANAGER, RoleType.USER), 0L), stored.getAssigneeSummary());
+        assertEquals(Set.of(new UserSummary("summary2", "summary_user2", "summary2@email.com",
+                Set.of(RoleType.MANAGER, RoleType.USER), 0L)),
+                stored.getObserverSummaries());
+    }
+
+    @Test
+    @DisplayName("Test findById() hydrates users from summaries")
+    public void givenTaskWithSummaries_whenFindById_thenUsersFromSummaries() {
+        String id = taskService.create(createTask()).map(Task::getId).block();
+
+        Task found = taskService.findById(id).block();
+
+        assertEquals("summary_user1", found.getAuthor().getUsername());
+        assertEquals("summary_user2", found.getAssignee().getUsername());
+        assertEquals(1, found.getObservers().size());
+        assertEquals(Set.of(RoleType.USER), found.getAuthor().getRoles());
+    }
+
+    @Test
+    @DisplayName("Test user update() propagates user summaries")
+    public void givenTaskWithSummaries_whenUpdateUser_thenUserSummariesUpdated() {
+        String id = taskService.create(createTask()).map(Task::getId).block();
+        User user = User.builder()
+                .id("summary2")
+                .username("renamed_user2")
+                .email("renamed2@email.com")
+                .password("2")
+                .roles(Set.of(RoleType.USER))
+                .build();
+
+        userService.update(user).block();
+
+        Task stored = taskRepository.findById(id).block();
+
+        assertEquals(new UserSummary("summary2", "renamed_user2", "renamed2@email.com", Set.of(RoleType.USER), 1L),
+                stored.getAssigneeSummary());
+        assertEquals(Set.of(new UserSummary("summary2", "renamed_user2", "renamed2@email.com",
+                Set.of(RoleType.USER), 1L)),
+                stored.getObserverSummaries());
+        assertEquals(new UserSummary("summary1", "summary_user1", "summary1@email.com", Set.of(RoleType.USER), 0L),
+                stored.getAuthorSummary());
+    }
+
+    @Test
+    @DisplayName("Test updateUserSummaries() keeps summaries of a newer user version")
+    public void givenNewerSummaries_whenUpdateUserSummariesWithStaleVersion_thenSummariesKept() {
+        String id = taskService.create(createTask()).map(Task::getId).block();
+        userService.update(User.builder()
+                .id("summary2")
+                .username("renamed_user2")
+                .email("renamed2@email.com")
+                .password("2")
+                .roles(Set.of(RoleType.USER))
+                .build()).block();
+
+        Long modifiedCount = taskRepository.updateUserSummaries(new UserSummary("summary2", "stale_user2",
+                "stale2@email.com", Set.of(RoleType.MANAGER), 0L)).block();
+
+        Task stored = taskRepository.findById(id).block();
+        assertEquals(0L, modifiedCount);
+        assertEquals("renamed_user2", stored.getAssigneeSummary().getUsername());
+        assertEquals("renamed_user2", stored.getObserverSummaries().iterator().next().getUsername());
+    }
+
+    @Test
+    @DisplayName("Test addObserverById() and removeObserverById() update observer summaries")
+    public void givenTaskWithSummaries_whenAddAndRemoveObserver_thenObserverSummariesUpdated() {
+        String id = taskService.create(createTask()).map(Task::getId).block();
+
+        taskService.addObserverById(id, "summary1").block();
+        assertEquals(Set.of("summary1", "summary2"), taskRepository.findById(id).block().getObserverSummaries()
+                .stream().map(UserSummary::getId).collect(Collectors.toSet()));
+
+        taskService.removeObserverById(id, "summary2").block();
+        assertEquals(Set.of("summary1"), taskRepository.findById(id).block().getObserverSummaries()
+                .stream().map(UserSummary::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Test addObserversById() and addObserversByIds() embed observer summaries")
+    public void givenTasksWithSummaries_whenAddObservers_thenObserverSummariesEmbedded() {
+        Task task = createTask();
+        task.setObserverIds(Set.of());
+        String firstId = taskService.create(task).map(Task::getId).block();
+        task = createTask();
+        task.setObserverIds(Set.of());
+        String secondId = taskService.create(task).map(Task::getId).block();
+
+        taskService.addObserversById(firstId, Set.of("summary1", "summary2")).block();
+        assertEquals(Set.of("summary1", "summary2"), taskRepository.findById(firstId).block()
+                .getObserverSummaries().stream().map(UserSummary::getId).collect(Collectors.toSet()));
+
+        taskService.addObserversByIds(Set.of(firstId, secondId), Set.of("summary1")).block();
+        assertEquals(Set.of("summary1", "summary2"), taskRepository.findById(firstId).block()
+                .getObserverSummaries().stream().map(UserSummary::getId).collect(Collectors.toSet()));
+        assertEquals(Set.of(new UserSummary("summary1", "summary_user1", "summary1@email.com",
+                        Set.of(RoleType.USER), 0L)),
+                taskRepository.findById(secondId).block().getObserverSummaries());
+    }
+
+    @Test
+    @DisplayName("Test backfill() embeds user summaries into existing tasks")
+    public void givenTaskWithoutSummaries_whenBackfill_thenUserSummariesEmbedded() {
+        Task task = createTask();
+        task.setId("summary-task");
+        taskRepository.save(task).block();
+        assertNull(taskRepository.findById("summary-task").block().getAuthorSummary());
+
+        Long count = backfillJob.backfill().block();
+
+        Task stored = taskRepository.findById("summary-task").block();
+        assertEquals(1L, count);
+        assertEquals("summary_user1", stored.getAuthorSummary().getUsername());
+        assertEquals("summary_user2", stored.getAssigneeSummary().getUsername());
+        assertEquals(1, stored.getObserverSummaries().size());
+    }
+
+    private Task createTask() {
+        return Task.builder()
+                .name("task")
+                .description("description")
+                .createdAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .updatedAt(Instant.parse("1970-01-01T00:00:00Z"))
+                .status(Task.TaskStatus.TODO)
+                .authorId("summary1")
+                .assigneeId("summary2")
+                .observerIds(Set.of("summary2"))
+                .build();
+    }
+}
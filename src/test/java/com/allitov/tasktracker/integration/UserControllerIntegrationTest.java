@@ -1,17 +1,23 @@
 package com.allitov.tasktracker.integration;
 
+import com.allitov.tasktracker.job.MongoIndexProvisioner;
 import com.allitov.tasktracker.model.entity.RoleType;
 import com.allitov.tasktracker.model.entity.User;
 import com.allitov.tasktracker.model.repository.UserRepository;
 import com.allitov.tasktracker.web.dto.request.UserRequest;
+import com.allitov.tasktracker.web.dto.response.UserListResponse;
+import com.allitov.tasktracker.web.dto.response.UserResponse;
 import com.allitov.testutils.EnableTestcontainers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -20,6 +26,11 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
 @EnableTestcontainers
@@ -32,6 +43,9 @@ public class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ObjectProvider<MongoIndexProvisioner> indexProvisioner;
+
     @BeforeEach
     public void beforeEach() {
         userRepository.saveAll(
@@ -104,6 +118,61 @@ public class UserControllerIntegrationTest {
                 .json("{'errorMessage': 'No required authorities'}");
     }
 
+    @Test
+    @DisplayName("Test getAll() with limit status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenLimitAndRoleUser_whenGetAll_thenUserListResponseWithNextCursor() {
+        webTestClient.get().uri("/api/v2/user?limit={limit}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.users.length()").isEqualTo(1)
+                .jsonPath("$.users[0].id").isEqualTo("1")
+                .jsonPath("$.nextCursor").isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Test getAll() with cursor status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenCursorAndRoleUser_whenGetAll_thenNextUserListResponse() {
+        webTestClient.get().uri("/api/v2/user?limit={limit}&after={after}", 2, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.users.length()").isEqualTo(1)
+                .jsonPath("$.users[0].id").isEqualTo("2")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test streamAll() status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenRoleUser_whenStreamAll_thenUserResponseStream() {
+        List<UserResponse> users = webTestClient.get().uri("/api/v2/user/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(Set.of("user1", "user2"),
+                users.stream().map(UserResponse::getUsername).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Test findAllBy() does not load passwords")
+    public void givenUsers_whenFindAllBy_thenPasswordsNotLoaded() {
+        List<User> users = userRepository.findAllBy().collectList().block();
+
+        assertEquals(2, users.size());
+        users.forEach(user -> assertNull(user.getPassword()));
+    }
+
     @Test
     @DisplayName("Test getById() status 200")
     @WithMockUser(authorities = {"USER"})
@@ -118,6 +187,76 @@ public class UserControllerIntegrationTest {
                 .json("{'id': '1', 'username': 'user1', 'email': 'email@email.com', 'roles': ['USER']}");
     }
 
+    @Test
+    @DisplayName("Test getById() with matching If-None-Match status 304")
+    @WithMockUser(authorities = {"USER"})
+    public void givenMatchingEntityTagAndRoleUser_whenGetById_thenNotModified() {
+        String id = "1";
+        String entityTag = webTestClient.get().uri("/api/v2/user/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v2/user/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test getById() with stale If-None-Match status 200")
+    @WithMockUser(authorities = {"USER"})
+    public void givenStaleEntityTagAndRoleUser_whenGetById_thenUserResponse() {
+        String id = "1";
+        String entityTag = webTestClient.get().uri("/api/v2/user/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponse.class)
+                .getResponseHeaders()
+                .getETag();
+        User user = userRepository.findById(id).block();
+        user.setEmail("changed@email.com");
+        userRepository.updateFields(user).block();
+
+        webTestClient.get().uri("/api/v2/user/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertNotEquals(entityTag, value));
+        assertEquals(1L, userRepository.findVersionById(id).map(User::getVersion).block());
+    }
+
+    @Test
+    @DisplayName("Test getAll() with matching If-None-Match status 304")
+    @WithMockUser(authorities = {"USER"})
+    public void givenMatchingEntityTagAndRoleUser_whenGetAll_thenNotModified() {
+        String entityTag = webTestClient.get().uri("/api/v2/user")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserListResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v2/user")
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        userRepository.deleteById("2").block();
+
+        webTestClient.get().uri("/api/v2/user")
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.users.length()").isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Test getById() status 401")
     @WithAnonymousUser
@@ -193,6 +332,116 @@ public class UserControllerIntegrationTest {
                 .json("{'errorMessage': \"Invalid roles. Must be any of ['USER', 'MANAGER']\"}");
     }
 
+    @Test
+    @DisplayName("Test HTTP Basic authentication of created user")
+    public void givenCreatedUser_whenGetAllWithBasicAuthentication_thenUserListResponse() {
+        webTestClient.post().uri("/api/v2/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createUserRequest()), UserRequest.class)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/api/v2/user")
+                .headers(headers -> headers.setBasicAuth("new_user", "123"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/v2/user")
+                .headers(headers -> headers.setBasicAuth("new_user", "123"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/v2/user")
+                .headers(headers -> headers.setBasicAuth("new_user", "wrong"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Test updateById() with If-Match status 204 and stale If-Match status 412")
+    public void givenEntityTag_whenUpdateByIdTwice_thenSecondUpdatePreconditionFailed() {
+        webTestClient.post().uri("/api/v2/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createUserRequest()), UserRequest.class)
+                .exchange()
+                .expectStatus().isCreated();
+        String id = userRepository.findByUsername("new_user").map(User::getId).block();
+        String entityTag = webTestClient.get().uri("/api/v2/user/{id}", id)
+                .headers(headers -> headers.setBasicAuth("new_user", "123"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponse.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.put().uri("/api/v2/user/{id}", id)
+                .headers(headers -> headers.setBasicAuth("new_user", "123"))
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createUserRequest()), UserRequest.class)
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + id + "-1\"");
+        webTestClient.put().uri("/api/v2/user/{id}", id)
+                .headers(headers -> headers.setBasicAuth("new_user", "123"))
+                .header(HttpHeaders.IF_MATCH, entityTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createUserRequest()), UserRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"User with id '" + id + "' does not match the 'If-Match' entity tag\"}");
+
+        assertEquals(1L, userRepository.findVersionById(id).map(User::getVersion).block());
+    }
+
+    @Test
+    @DisplayName("Test create() status 409")
+    @WithAnonymousUser
+    public void givenTakenUsername_whenCreate_thenErrorResponse() {
+        indexProvisioner.ifAvailable(provisioner -> provisioner.provision().block());
+        UserRequest request = createUserRequest();
+        request.setUsername("user1");
+
+        webTestClient.post().uri("/api/v2/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), UserRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"User with username 'user1' already exists\"}");
+
+        assertEquals(2L, userRepository.count().block());
+    }
+
+    @Test
+    @DisplayName("Test updateById() status 409")
+    public void givenTakenUsername_whenUpdateById_thenErrorResponse() {
+        indexProvisioner.ifAvailable(provisioner -> provisioner.provision().block());
+        UserRequest createRequest = createUserRequest();
+        createRequest.setUsername("renamed_user");
+        webTestClient.post().uri("/api/v2/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(createRequest), UserRequest.class)
+                .exchange()
+                .expectStatus().isCreated();
+        String id = userRepository.findByUsername("renamed_user").map(User::getId).block();
+        UserRequest updateRequest = createUserRequest();
+        updateRequest.setUsername("user1");
+
+        webTestClient.put().uri("/api/v2/user/{id}", id)
+                .headers(headers -> headers.setBasicAuth("renamed_user", "123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(updateRequest), UserRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("{'errorMessage': \"User with username 'user1' already exists\"}");
+
+        assertEquals("renamed_user", userRepository.findById(id).map(User::getUsername).block());
+    }
+
     private UserRequest createUserRequest() {
         return UserRequest.builder()
                 .username("new_user")
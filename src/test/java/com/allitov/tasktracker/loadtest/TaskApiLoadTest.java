@@ -0,0 +1,285 @@
+package com.allitov.tasktracker.loadtest;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.web.dto.request.CreateTaskRequest;
+import com.allitov.tasktracker.web.dto.request.LoginRequest;
+import com.allitov.tasktracker.web.dto.response.TokenResponse;
+import com.allitov.testutils.EnableTestcontainers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnableTestcontainers
+public class TaskApiLoadTest {
+
+    private static final String PASSWORD = "password";
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "loadtest");
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.users:100}")
+    private int userCount;
+
+    @Value("${loadtest.tasks:1000}")
+    private int taskCount;
+
+    @Value("${loadtest.observers:10}")
+    private int observerCount;
+
+    @Value("${loadtest.page-size:100}")
+    private int pageSize;
+
+    @Value("${loadtest.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:30s}")
+    private Duration duration;
+
+    @Value("${loadtest.rate.list:5}")
+    private int listRate;
+
+    @Value("${loadtest.rate.get:100}")
+    private int getRate;
+
+    @Value("${loadtest.rate.create:20}")
+    private int createRate;
+
+    @Value("${loadtest.rate.add-observer:20}")
+    private int addObserverRate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private List<String> userIds;
+
+    private List<String> taskIds;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    public void beforeEach() {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<User> users = IntStream.range(0, userCount)
+                .mapToObj(i -> User.builder()
+                        .id(new ObjectId().toHexString())
+                        .username("loadtest_user" + i)
+                        .email("loadtest" + i + "@email.com")
+                        .password(encodedPassword)
+                        .roles(Set.of(RoleType.USER, RoleType.MANAGER))
+                        .build())
+                .toList();
+        userRepository.saveAll(users).blockLast();
+        userIds = users.stream().map(User::getId).toList();
+
+        List<Task> tasks = IntStream.range(0, taskCount)
+                .mapToObj(i -> Task.builder()
+                        .id(new ObjectId().toHexString())
+                        .name("loadtest_task" + i)
+                        .description("description")
+                        .createdAt(Instant.now())
+                        .updatedAt(Instant.now())
+                        .status(Task.TaskStatus.TODO)
+                        .authorId(randomUserId())
+                        .assigneeId(randomUserId())
+                        .observerIds(randomUserIds(observerCount))
+                        .build())
+                .toList();
+        taskRepository.saveAll(tasks).blockLast();
+        taskIds = tasks.stream().map(Task::getId).toList();
+
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .build();
+        TokenResponse token = webClient.post().uri("/api/v2/auth/login")
+                .bodyValue(new LoginRequest(users.get(0).getUsername(), PASSWORD))
+                .retrieve()
+                .bodyToMono(TokenResponse.class)
+                .block();
+        webClient = webClient.mutate()
+                .defaultHeader(HttpHeaders.AUTHORIZATION, token.getTokenType() + " " + token.getAccessToken())
+                .build();
+
+        log.info("Seeded {} users and {} tasks with {} observers each", userCount, taskCount, observerCount);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        taskRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Load test mixed task workload at fixed arrival rates")
+    public void givenSeededData_whenMixedWorkload_thenLatenciesReported() throws IOException {
+        List<EndpointLoad> loads = Stream.of(
+                new EndpointLoad("list", listRate, () -> webClient.get()
+                        .uri("/api/v2/task?limit={limit}&after={after}", pageSize, randomTaskId())),
+                new EndpointLoad("get", getRate, () -> webClient.get()
+                        .uri("/api/v2/task/{id}", randomTaskId())),
+                new EndpointLoad("create", createRate, () -> webClient.post()
+                        .uri("/api/v2/task")
+                        .bodyValue(CreateTaskRequest.builder()
+                                .name("loadtest_task")
+                                .description("description")
+                                .status(Task.TaskStatus.TODO.name())
+                                .authorId(randomUserId())
+                                .assigneeId(randomUserId())
+                                .observerIds(randomUserIds(observerCount))
+                                .build())),
+                new EndpointLoad("add-observer", addObserverRate, () -> webClient.patch()
+                        .uri("/api/v2/task/{id}/add-observer?observerId={observerId}",
+                                randomTaskId(), randomUserId()))
+        ).filter(load -> load.rate > 0).toList();
+
+        Flux.fromIterable(loads)
+                .flatMap(load -> drive(load, warmup))
+                .blockLast();
+        loads.forEach(EndpointLoad::reset);
+        log.info("Warmup completed in {}", warmup);
+
+        long start = System.nanoTime();
+        Flux.fromIterable(loads)
+                .flatMap(load -> drive(load, duration))
+                .blockLast();
+        double elapsedSeconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        report(loads, elapsedSeconds);
+        loads.forEach(load -> assertEquals(0, load.errors.get(), "Failed requests to " + load.name));
+    }
+
+    private Mono<Void> drive(EndpointLoad load, Duration loadDuration) {
+        long period = TimeUnit.SECONDS.toNanos(1) / load.rate;
+        long requestCount = loadDuration.toNanos() / period;
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Flux.interval(Duration.ofNanos(period))
+                    .take(requestCount)
+                    .onBackpressureBuffer()
+                    .flatMap(tick -> {
+                        long intendedStart = start + (tick + 1) * period;
+                        return load.request.get()
+                                .retrieve()
+                                .toBodilessEntity()
+                                .doOnError(error -> load.errors.incrementAndGet())
+                                .onErrorResume(error -> Mono.empty())
+                                .doFinally(signal -> load.histogram.recordValue(
+                                        Math.max(System.nanoTime() - intendedStart, 0)));
+                    }, Integer.MAX_VALUE)
+                    .then();
+        });
+    }
+
+    private void report(List<EndpointLoad> loads, double elapsedSeconds) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        for (EndpointLoad load : loads) {
+            Histogram histogram = load.histogram;
+            log.info("endpoint={} requests={} errors={} throughput={}rps p50={}ms p99={}ms p999={}ms max={}ms",
+                    load.name,
+                    histogram.getTotalCount(),
+                    load.errors.get(),
+                    String.format("%.1f", histogram.getTotalCount() / elapsedSeconds),
+                    toMillis(histogram.getValueAtPercentile(50)),
+                    toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)),
+                    toMillis(histogram.getMaxValue()));
+
+            Path reportFile = REPORT_DIRECTORY.resolve(load.name + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile))) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        log.info("HDR histograms written to {}", REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private String toMillis(long nanos) {
+        return String.format("%.2f", nanos / NANOS_PER_MILLI);
+    }
+
+    private String randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private String randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private Set<String> randomUserIds(int count) {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < Math.min(count, userIds.size()); i++) {
+            ids.add(randomUserId());
+        }
+
+        return ids;
+    }
+
+    @RequiredArgsConstructor
+    private static class EndpointLoad {
+
+        private final String name;
+
+        private final int rate;
+
+        private final Supplier<WebClient.RequestHeadersSpec<?>> request;
+
+        private final Histogram histogram = new ConcurrentHistogram(3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private void reset() {
+            histogram.reset();
+            errors.set(0);
+        }
+    }
+}
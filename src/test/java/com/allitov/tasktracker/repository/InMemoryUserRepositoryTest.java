@@ -0,0 +1,108 @@
+package com.allitov.tasktracker.repository;
+
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.memory.InMemoryUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class InMemoryUserRepositoryTest {
+
+    private InMemoryUserRepository userRepository;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository = new InMemoryUserRepository();
+        userRepository.insert(List.of(
+                createUser("bob", "bob@mail.com", RoleType.USER),
+                createUser("alice", "alice@mail.com", RoleType.MANAGER),
+                createUser("carol", "carol@example.com", RoleType.USER)
+        )).blockLast();
+    }
+
+    @Test
+    @DisplayName("Test findAll() orders users by sort")
+    public void givenSort_whenFindAll_thenUsersSorted() {
+        List<String> usernames = userRepository.findAll(Sort.by(Sort.Direction.DESC, "username"))
+                .map(User::getUsername)
+                .collectList()
+                .block();
+
+        assertEquals(List.of("carol", "bob", "alice"), usernames);
+    }
+
+    @Test
+    @DisplayName("Test findAll() filters users by example")
+    public void givenExample_whenFindAll_thenMatchingUsersReturned() {
+        Example<User> example = Example.of(
+                User.builder().email("MAIL.COM").build(),
+                ExampleMatcher.matching()
+                        .withIgnoreCase()
+                        .withStringMatcher(ExampleMatcher.StringMatcher.ENDING)
+        );
+
+        List<String> usernames = userRepository.findAll(example, Sort.by("username"))
+                .map(User::getUsername)
+                .collectList()
+                .block();
+
+        assertEquals(List.of("alice", "bob"), usernames);
+        StepVerifier.create(userRepository.count(example))
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test findOne() fails when example matches several users")
+    public void givenAmbiguousExample_whenFindOne_thenError() {
+        Example<User> example = Example.of(User.builder().roles(Set.of(RoleType.USER)).build());
+
+        StepVerifier.create(userRepository.findOne(example))
+                .expectError(IncorrectResultSizeDataAccessException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test findBy() pages and projects matching users")
+    public void givenExampleAndProjection_whenFindByPage_thenProjectedPageReturned() {
+        Example<User> example = Example.of(User.builder().build());
+
+        StepVerifier.create(userRepository.findBy(example, query -> query
+                        .sortBy(Sort.by("username"))
+                        .project("username")
+                        .page(PageRequest.of(1, 2))))
+                .assertNext(page -> {
+                    assertEquals(3, page.getTotalElements());
+                    assertEquals(1, page.getContent().size());
+                    assertEquals("carol", page.getContent().get(0).getUsername());
+                    assertNull(page.getContent().get(0).getEmail());
+                })
+                .verifyComplete();
+        StepVerifier.create(userRepository.findBy(example, FluentQuery.ReactiveFluentQuery::exists))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    private User createUser(String username, String email, RoleType role) {
+        return User.builder()
+                .username(username)
+                .email(email)
+                .password("password")
+                .roles(Set.of(role))
+                .build();
+    }
+}
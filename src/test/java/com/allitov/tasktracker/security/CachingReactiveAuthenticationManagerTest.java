@@ -0,0 +1,129 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingReactiveAuthenticationManagerTest {
+
+    private ReactiveAuthenticationManager delegate;
+
+    private AuthenticationCache authenticationCache;
+
+    private CachingReactiveAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    public void beforeEach() {
+        delegate = mock(ReactiveAuthenticationManager.class);
+        authenticationCache = new AuthenticationCache(
+                new AuthenticationProperties(),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)
+        );
+        authenticationManager = new CachingReactiveAuthenticationManager(delegate, authenticationCache);
+
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication authentication = invocation.getArgument(0);
+            if (!"password".equals(authentication.getCredentials())) {
+                return Mono.error(new BadCredentialsException("Invalid Credentials"));
+            }
+            return Mono.just(authenticated(authentication.getName()));
+        });
+    }
+
+    @Test
+    @DisplayName("Test authenticate() reuses successful credential checks")
+    public void givenValidCredentialsTwice_whenAuthenticate_thenDelegateCalledOnce() {
+        Authentication first = authenticationManager.authenticate(token("user1", "password")).block();
+        Authentication second = authenticationManager.authenticate(token("user1", "password")).block();
+
+        assertSame(first, second);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Test authenticate() does not cache failed credential checks")
+    public void givenInvalidCredentialsTwice_whenAuthenticate_thenDelegateCalledTwice() {
+        StepVerifier.create(authenticationManager.authenticate(token("user1", "wrong")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        StepVerifier.create(authenticationManager.authenticate(token("user1", "wrong")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Test authenticate() does not accept another password for a cached user")
+    public void givenCachedUserAndOtherPassword_whenAuthenticate_thenDelegateCalled() {
+        authenticationManager.authenticate(token("user1", "password")).block();
+
+        StepVerifier.create(authenticationManager.authenticate(token("user1", "wrong")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Test evictByUserId() forces a new credential check")
+    public void givenEvictedUser_whenAuthenticate_thenDelegateCalledAgain() {
+        authenticationManager.authenticate(token("user1", "password")).block();
+
+        authenticationCache.evictByUserId("1");
+        authenticationManager.authenticate(token("user1", "password")).block();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Test authenticate() does not cache a credential check that overlaps evictByUserId()")
+    public void givenEvictionDuringAuthentication_whenAuthenticate_thenResultNotCached() {
+        Sinks.One<Authentication> pending = Sinks.one();
+        doReturn(pending.asMono()).when(delegate).authenticate(any());
+        Mono<Authentication> authentication = authenticationManager.authenticate(token("user1", "password"));
+
+        authenticationCache.evictByUserId("1");
+        pending.tryEmitValue(authenticated("user1"));
+        authentication.block();
+
+        assertNull(authenticationCache.get("user1", "password"));
+    }
+
+    private Authentication authenticated(String username) {
+        AppUserDetails userDetails = new AppUserDetails(User.builder()
+                .id("1")
+                .username(username)
+                .roles(Set.of(RoleType.USER))
+                .build());
+
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private Authentication token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,92 @@
+package com.allitov.tasktracker.security;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenServiceTest {
+
+    private AuthenticationProperties authenticationProperties;
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    public void beforeEach() {
+        authenticationProperties = new AuthenticationProperties();
+        tokenService = new TokenService(authenticationProperties, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Test verify() returns user details from token claims")
+    public void givenIssuedToken_whenVerify_thenUserDetails() {
+        String token = tokenService.issue(createUser());
+
+        AppUserDetails userDetails = tokenService.verify(token).orElseThrow();
+
+        assertEquals("1", userDetails.getUser().getId());
+        assertEquals("user1", userDetails.getUsername());
+        assertEquals(Set.of(RoleType.USER, RoleType.MANAGER), userDetails.getUser().getRoles());
+    }
+
+    @Test
+    @DisplayName("Test verify() rejects tampered token")
+    public void givenTamperedToken_whenVerify_thenEmpty() {
+        String[] parts = tokenService.issue(createUser()).split("\\.");
+        String otherClaims = tokenService.issue(User.builder()
+                .id("2")
+                .username("user2")
+                .roles(Set.of(RoleType.MANAGER))
+                .build()).split("\\.")[1];
+
+        assertTrue(tokenService.verify(parts[0] + "." + otherClaims + "." + parts[2]).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test verify() rejects token signed with another key")
+    public void givenTokenOfAnotherService_whenVerify_thenEmpty() {
+        String token = new TokenService(new AuthenticationProperties(), new ObjectMapper()).issue(createUser());
+
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test verify() rejects expired token")
+    public void givenExpiredToken_whenVerify_thenEmpty() {
+        authenticationProperties.getToken().setTimeToLive(Duration.ZERO);
+        TokenService expiringTokenService = new TokenService(authenticationProperties, new ObjectMapper());
+
+        assertTrue(expiringTokenService.verify(expiringTokenService.issue(createUser())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test verify() rejects token issued before revocation")
+    public void givenRevokedUser_whenVerify_thenEmpty() throws InterruptedException {
+        String token = tokenService.issue(createUser());
+        Thread.sleep(2);
+
+        tokenService.revokeByUserId("1");
+
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+
+    private User createUser() {
+        return User.builder()
+                .id("1")
+                .username("user1")
+                .email("email@email.com")
+                .password("1")
+                .roles(Set.of(RoleType.USER, RoleType.MANAGER))
+                .build();
+    }
+}
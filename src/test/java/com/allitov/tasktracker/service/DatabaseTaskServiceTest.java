@@ -0,0 +1,335 @@
+package com.allitov.tasktracker.service;
+
+import com.allitov.tasktracker.configuration.properties.TaskProperties;
+import com.allitov.tasktracker.error.EntityNotFoundException;
+import com.allitov.tasktracker.error.PreconditionFailedException;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.Task;
+import com.allitov.tasktracker.model.entity.TaskBatchResult;
+import com.allitov.tasktracker.model.entity.TaskChangeEvent;
+import com.allitov.tasktracker.model.entity.TaskFilter;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.TaskRepository;
+import com.allitov.tasktracker.model.service.UserService;
+import com.allitov.tasktracker.model.service.impl.DatabaseTaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DatabaseTaskServiceTest {
+
+    private static final int WINDOW_SIZE = 10;
+
+    private static final int BATCH_CHUNK_SIZE = 20;
+
+    private static final Duration REPLAY_TIMEOUT = Duration.ofMillis(200);
+
+    private TaskRepository taskRepository;
+
+    private UserService userService;
+
+    private DatabaseTaskService taskService;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskRepository = mock(TaskRepository.class);
+        userService = mock(UserService.class);
+        TaskProperties taskProperties = new TaskProperties();
+        taskProperties.setHydrationWindowSize(WINDOW_SIZE);
+        taskProperties.setBatchChunkSize(BATCH_CHUNK_SIZE);
+        taskProperties.setEventReplayTimeout(REPLAY_TIMEOUT);
+        taskService = new DatabaseTaskService(
+                taskRepository,
+                userService,
+                taskProperties,
+                new SimpleMeterRegistry(),
+                ObservationRegistry.NOOP
+        );
+
+        when(userService.findAllByIdsIn(any())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(this::createUser);
+        });
+    }
+
+    @Test
+    @DisplayName("Test findAll() resolves users with one query per window")
+    public void givenTasks_whenFindAll_thenOneUserQueryPerWindow() {
+        int taskCount = 45;
+        when(taskRepository.findAll()).thenReturn(Flux.fromIterable(createTasks(taskCount)));
+
+        StepVerifier.create(taskService.findAll())
+                .expectNextCount(taskCount)
+                .verifyComplete();
+
+        verify(userService, times(5)).findAllByIdsIn(any());
+        verify(userService, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Test findAll() requests each distinct user id of a window once")
+    @SuppressWarnings("unchecked")
+    public void givenTasks_whenFindAll_thenDistinctUserIdsPerWindow() {
+        when(taskRepository.findAll()).thenReturn(Flux.fromIterable(createTasks(WINDOW_SIZE)));
+
+        taskService.findAll().blockLast();
+
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(userService, times(1)).findAllByIdsIn(captor.capture());
+        List<String> requestedIds = StreamSupport.stream(captor.getValue().spliterator(), false).toList();
+        assertEquals(new HashSet<>(requestedIds).size(), requestedIds.size());
+        assertEquals(Set.of("author", "assignee0", "assignee1", "observer0", "observer1", "observer2"),
+                new HashSet<>(requestedIds));
+    }
+
+    @Test
+    @DisplayName("Test findAll() attaches resolved users and keeps task order")
+    public void givenTasks_whenFindAll_thenHydratedTasksInOrder() {
+        List<Task> tasks = createTasks(25);
+        when(taskRepository.findAll()).thenReturn(Flux.fromIterable(tasks));
+
+        List<Task> result = taskService.findAll().collectList().block();
+
+        assertEquals(tasks.stream().map(Task::getId).toList(), result.stream().map(Task::getId).toList());
+        result.forEach(task -> {
+            assertEquals(task.getAuthorId(), task.getAuthor().getId());
+            assertEquals(task.getAssigneeId(), task.getAssignee().getId());
+            assertEquals(task.getObserverIds().size(), task.getObservers().size());
+            assertTrue(task.getObservers().stream().allMatch(u -> task.getObserverIds().contains(u.getId())));
+        });
+    }
+
+    @Test
+    @DisplayName("Test update() writes fields without loading the task")
+    public void givenTask_whenUpdate_thenOnlyFieldsUpdated() {
+        Task task = createTasks(1).get(0);
+        when(userService.findById("assignee0")).thenReturn(Mono.just(createUser("assignee0")));
+        when(taskRepository.updateFields(task, null))
+                .thenReturn(Mono.just(Task.builder().id(task.getId()).version(1L).build()));
+
+        StepVerifier.create(taskService.update(task))
+                .expectNextMatches(updatedTask -> updatedTask.getAssignee().getId().equals("assignee0") &&
+                        updatedTask.getUpdatedAt() != null &&
+                        updatedTask.getVersion() == 1L)
+                .verifyComplete();
+
+        verify(taskRepository, never()).findById(anyString());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Test update() of nonexistent task throws EntityNotFoundException")
+    public void givenNonexistentTask_whenUpdate_thenEntityNotFoundException() {
+        Task task = createTasks(1).get(0);
+        when(userService.findById("assignee0")).thenReturn(Mono.just(createUser("assignee0")));
+        when(taskRepository.updateFields(task, null)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.update(task))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test update() with stale version throws PreconditionFailedException")
+    public void givenStaleVersion_whenUpdate_thenPreconditionFailedException() {
+        Task task = createTasks(1).get(0);
+        when(userService.findById("assignee0")).thenReturn(Mono.just(createUser("assignee0")));
+        when(taskRepository.updateFields(task, 1L)).thenReturn(Mono.empty());
+        when(taskRepository.existsById(task.getId())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(taskService.update(task, 1L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test removeObserverById() with stale version of nonexistent task throws EntityNotFoundException")
+    public void givenStaleVersionAndNonexistentTask_whenRemoveObserverById_thenEntityNotFoundException() {
+        when(userService.findById("observer0")).thenReturn(Mono.just(createUser("observer0")));
+        when(taskRepository.removeObserverId(anyString(), anyString(), any(Instant.class), eq(1L)))
+                .thenReturn(Mono.empty());
+        when(taskRepository.existsById("10")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(taskService.removeObserverById("10", "observer0", 1L))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test createAll() validates users and inserts with one query per chunk")
+    public void givenTasks_whenCreateAll_thenOneUserQueryAndInsertPerChunk() {
+        int taskCount = 45;
+        when(taskRepository.insertAllUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        List<TaskBatchResult> results = taskService.createAll(Flux.fromIterable(createTasks(taskCount)))
+                .collectList()
+                .block();
+
+        assertEquals(taskCount, results.size());
+        assertEquals(IntStream.range(0, taskCount).asLongStream().boxed().toList(),
+                results.stream().map(TaskBatchResult::getIndex).toList());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == TaskBatchResult.Status.CREATED));
+        verify(userService, times(3)).findAllByIdsIn(any());
+        verify(taskRepository, times(3)).insertAllUnordered(any());
+        verify(userService, never()).findById(anyString());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Test createAll() reports missing users and write errors per task")
+    @SuppressWarnings("unchecked")
+    public void givenInvalidTasks_whenCreateAll_thenFailedResults() {
+        List<Task> tasks = createTasks(3);
+        tasks.get(0).setAssigneeId("missing");
+        doAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids)
+                    .filter(id -> !id.equals("missing"))
+                    .map(this::createUser);
+        }).when(userService).findAllByIdsIn(any());
+        when(taskRepository.insertAllUnordered(any())).thenReturn(Mono.just(Map.of(1, "duplicate key")));
+
+        List<TaskBatchResult> results = taskService.createAll(Flux.fromIterable(tasks)).collectList().block();
+
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).insertAllUnordered(captor.capture());
+        assertEquals(List.of("task1", "task2"), captor.getValue().stream().map(Task::getName).toList());
+        assertEquals(List.of(TaskBatchResult.Status.FAILED, TaskBatchResult.Status.CREATED,
+                        TaskBatchResult.Status.FAILED),
+                results.stream().map(TaskBatchResult::getStatus).toList());
+        assertEquals("User with id 'missing' not found", results.get(0).getErrorMessage());
+        assertEquals(captor.getValue().get(0).getId(), results.get(1).getTaskId());
+        assertEquals("duplicate key", results.get(2).getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Test removeObserverById() with nonexistent observer does not modify task")
+    public void givenNonexistentObserver_whenRemoveObserverById_thenTaskNotModified() {
+        when(userService.findById("missing")).thenReturn(Mono.error(new EntityNotFoundException("missing")));
+
+        StepVerifier.create(taskService.removeObserverById("1", "missing", 1L))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+
+        verify(taskRepository, never()).removeObserverId(anyString(), anyString(), any(Instant.class), any());
+    }
+
+    @Test
+    @DisplayName("Test watch() reopens a failed change stream after the last seen event")
+    public void givenFailedChangeStream_whenWatch_thenReopenedAfterLastEvent() {
+        when(taskRepository.watch(null)).thenReturn(Flux.just(createEvent("1"))
+                .concatWith(Flux.error(new IllegalStateException("stream closed"))));
+        when(taskRepository.watch("1")).thenReturn(Flux.just(createEvent("2")).concatWith(Flux.never()));
+
+        StepVerifier.create(taskService.watch(new TaskFilter(), null))
+                .expectNextMatches(event -> event.getId().equals("1"))
+                .expectNextMatches(event -> event.getId().equals("2"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+
+        verify(taskRepository, times(1)).watch("1");
+    }
+
+    @Test
+    @DisplayName("Test watch() delivers events to subscribers independently of a slow subscriber")
+    public void givenSlowSubscriber_whenWatch_thenOtherSubscribersReceiveEvents() {
+        Sinks.Many<TaskChangeEvent> events = Sinks.many().multicast().directBestEffort();
+        when(taskRepository.watch(null)).thenReturn(events.asFlux());
+
+        Flux<TaskChangeEvent> slow = taskService.watch(new TaskFilter(), null);
+        Flux<TaskChangeEvent> fast = taskService.watch(new TaskFilter(), null);
+        StepVerifier.create(slow, 0)
+                .then(() -> StepVerifier.create(fast)
+                        .then(() -> IntStream.range(0, 10)
+                                .forEach(i -> events.tryEmitNext(createEvent(String.valueOf(i)))))
+                        .expectNextCount(10)
+                        .thenCancel()
+                        .verify(Duration.ofSeconds(10)))
+                .thenRequest(10)
+                .expectNextCount(10)
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Test watch() closes the replay stream of an idle resume after the replay timeout")
+    public void givenIdleResume_whenWatch_thenReplayClosedAndLiveEventsDelivered() {
+        Sinks.Many<TaskChangeEvent> events = Sinks.many().multicast().directBestEffort();
+        AtomicBoolean replayClosed = new AtomicBoolean();
+        when(taskRepository.watch(null)).thenReturn(events.asFlux());
+        when(taskRepository.watch("0")).thenReturn(Flux.<TaskChangeEvent>never()
+                .doOnCancel(() -> replayClosed.set(true)));
+
+        StepVerifier.create(taskService.watch(new TaskFilter(), "0"))
+                .expectSubscription()
+                .thenAwait(REPLAY_TIMEOUT.multipliedBy(2))
+                .then(() -> {
+                    assertTrue(replayClosed.get());
+                    events.tryEmitNext(createEvent("1"));
+                })
+                .expectNextMatches(event -> event.getId().equals("1"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> tasks.add(Task.builder()
+                .id(String.valueOf(i))
+                .name("task" + i)
+                .status(Task.TaskStatus.TODO)
+                .authorId("author")
+                .assigneeId("assignee" + (i % 2))
+                .observerIds(new HashSet<>(Set.of("observer" + (i % 3), "author")))
+                .build()));
+
+        return tasks;
+    }
+
+    private TaskChangeEvent createEvent(String id) {
+        return TaskChangeEvent.builder()
+                .id(id)
+                .type(TaskChangeEvent.Type.DELETED)
+                .taskId("task" + id)
+                .build();
+    }
+
+    private User createUser(String id) {
+        return User.builder()
+                .id(id)
+                .username(id)
+                .email(id + "@email.com")
+                .roles(Set.of(RoleType.USER))
+                .build();
+    }
+}
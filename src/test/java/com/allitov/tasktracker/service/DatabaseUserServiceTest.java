@@ -0,0 +1,282 @@
+package com.allitov.tasktracker.service;
+
+import com.allitov.tasktracker.configuration.properties.AuthenticationProperties;
+import com.allitov.tasktracker.configuration.properties.UserProperties;
+import com.allitov.tasktracker.error.EntityNotFoundException;
+import com.allitov.tasktracker.error.PreconditionFailedException;
+import com.allitov.tasktracker.model.entity.RoleType;
+import com.allitov.tasktracker.model.entity.User;
+import com.allitov.tasktracker.model.repository.UserRepository;
+import com.allitov.tasktracker.model.service.cache.UserBatchLoader;
+import com.allitov.tasktracker.model.service.cache.UserCache;
+import com.allitov.tasktracker.model.service.impl.DatabaseUserService;
+import com.allitov.tasktracker.model.service.summary.UserSummaryPropagator;
+import com.allitov.tasktracker.security.AuthenticationCache;
+import com.allitov.tasktracker.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DatabaseUserServiceTest {
+
+    private static final Duration DELAY = Duration.ofMillis(50);
+
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private UserSummaryPropagator userSummaryPropagator;
+
+    private DatabaseUserService userService;
+
+    @BeforeEach
+    public void beforeEach() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistryProvider = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                .getBeanProvider(MeterRegistry.class);
+        userSummaryPropagator = mock(UserSummaryPropagator.class);
+        UserProperties userProperties = new UserProperties();
+        userProperties.getBatch().setWindow(Duration.ZERO);
+        userService = createUserService(userProperties);
+
+        when(userRepository.findById(anyString())).thenAnswer(invocation ->
+                Mono.just(createUser(invocation.getArgument(0))));
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation ->
+                Mono.just(createUser(((String) invocation.getArgument(0)).replace("user", ""))));
+        when(userRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(this::createUser);
+        });
+        when(userRepository.save(any(User.class))).thenAnswer(invocation ->
+                Mono.just(invocation.getArgument(0)));
+        when(userRepository.updateFields(any(User.class), isNull())).thenAnswer(invocation -> Mono.just(
+                User.builder().id(((User) invocation.getArgument(0)).getId()).version(1L).build()));
+        when(userRepository.deleteById(anyString())).thenReturn(Mono.empty());
+        when(userSummaryPropagator.propagate(any(User.class))).thenReturn(Mono.just(0L));
+    }
+
+    @Test
+    @DisplayName("Test findById() reads through the cache")
+    public void givenCachedUser_whenFindById_thenRepositoryCalledOnce() {
+        userService.findById("1").block();
+        userService.findById("1").block();
+
+        verify(userRepository, times(1)).findById("1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Test findByUsername() reads through the cache")
+    public void givenCachedUser_whenFindByUsername_thenRepositoryCalledOnce() {
+        userService.findByUsername("user1").block();
+        userService.findByUsername("user1").block();
+
+        verify(userRepository, times(1)).findByUsername("user1");
+    }
+
+    @Test
+    @DisplayName("Test findAllByIdsIn() loads only missing users")
+    @SuppressWarnings("unchecked")
+    public void givenPartiallyCachedUsers_whenFindAllByIdsIn_thenOnlyMissingUsersLoaded() {
+        userService.findById("1").block();
+
+        List<User> users = userService.findAllByIdsIn(List.of("1", "2", "3")).collectList().block();
+
+        assertEquals(3, users.size());
+        verify(userRepository, times(1)).findAllById(Set.of("2", "3"));
+    }
+
+    @Test
+    @DisplayName("Test update() invalidates cached user")
+    public void givenCachedUser_whenUpdate_thenUserReloaded() {
+        userService.findById("1").block();
+        userService.findByUsername("user1").block();
+        User changedUser = createUser("1");
+        changedUser.setEmail("changed@email.com");
+
+        userService.update(changedUser).block();
+        userService.findById("1").block();
+        userService.findByUsername("user1").block();
+
+        verify(userRepository, times(2)).findById("1");
+        verify(userRepository, times(2)).findByUsername("user1");
+    }
+
+    @Test
+    @DisplayName("Test update() writes fields without reading the user")
+    public void givenUser_whenUpdate_thenOnlyFieldsUpdated() {
+        userService.update(createUser("1")).block();
+
+        verify(userRepository, times(1)).updateFields(any(User.class), isNull());
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Test update() propagates the updated user before completing")
+    public void givenUser_whenUpdate_thenSummariesPropagatedWithNewVersion() {
+        when(userSummaryPropagator.propagate(any(User.class)))
+                .thenReturn(Mono.error(new IllegalStateException("propagation failed")));
+
+        StepVerifier.create(userService.update(createUser("1")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(userSummaryPropagator, times(1)).propagate(argThat(user -> user.getVersion() == 1L));
+    }
+
+    @Test
+    @DisplayName("Test update() of nonexistent user throws EntityNotFoundException")
+    public void givenNonexistentUser_whenUpdate_thenEntityNotFoundException() {
+        when(userRepository.updateFields(any(User.class), isNull())).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.update(createUser("10")))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test update() with stale version throws PreconditionFailedException")
+    public void givenStaleVersion_whenUpdate_thenPreconditionFailedException() {
+        when(userRepository.updateFields(any(User.class), eq(1L))).thenReturn(Mono.empty());
+        when(userRepository.existsById("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(userService.update(createUser("1"), 1L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test deleteById() invalidates cached user")
+    public void givenCachedUser_whenDeleteById_thenUserReloaded() {
+        userService.findById("1").block();
+
+        userService.deleteById("1").block();
+        userService.findById("1").block();
+
+        verify(userRepository, times(2)).findById("1");
+    }
+
+    @Test
+    @DisplayName("Test concurrent findById() calls share one repository call")
+    public void givenConcurrentCalls_whenFindById_thenRepositoryCalledOnce() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(createUser("1")).delayElement(DELAY));
+
+        List<User> users = Flux.range(0, 10)
+                .flatMap(i -> userService.findById("1"))
+                .collectList()
+                .block();
+
+        assertEquals(10, users.size());
+        verify(userRepository, times(1)).findById("1");
+    }
+
+    @Test
+    @DisplayName("Test concurrent findById() and findAllByIdsIn() calls are merged into one query")
+    @SuppressWarnings("unchecked")
+    public void givenConcurrentCallsWithinWindow_whenFindUsers_thenOneBatchQuery() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.getBatch().setWindow(DELAY);
+        userService = createUserService(userProperties);
+
+        List<User> users = Flux
+                .merge(
+                        userService.findById("1"),
+                        userService.findById("2"),
+                        userService.findAllByIdsIn(List.of("2", "3", "4"))
+                )
+                .collectList()
+                .block();
+
+        assertEquals(5, users.size());
+        verify(userRepository, times(1)).findAllById(Set.of("1", "2", "3", "4"));
+        verify(userRepository, never()).findById(anyString());
+        assertEquals(4.0, meterRegistry.get("app.user.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Test findById() of nonexistent user in batch throws EntityNotFoundException")
+    @SuppressWarnings("unchecked")
+    public void givenNonexistentUserInBatch_whenFindById_thenEntityNotFoundException() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.getBatch().setWindow(DELAY);
+        userService = createUserService(userProperties);
+        when(userRepository.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(userService.findById("10"))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test full batch is dispatched before the window ends")
+    @SuppressWarnings("unchecked")
+    public void givenFullBatch_whenFindAllByIdsIn_thenDispatchedImmediately() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.getBatch().setWindow(Duration.ofMinutes(1));
+        userProperties.getBatch().setMaxSize(2);
+        userService = createUserService(userProperties);
+
+        StepVerifier.create(userService.findAllByIdsIn(List.of("1", "2")))
+                .expectNextCount(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(userRepository, times(1)).findAllById(Set.of("1", "2"));
+    }
+
+    @SuppressWarnings("deprecation")
+    private DatabaseUserService createUserService(UserProperties userProperties) {
+        return new DatabaseUserService(
+                userRepository,
+                NoOpPasswordEncoder.getInstance(),
+                new UserCache(userProperties, meterRegistryProvider),
+                new UserBatchLoader(userRepository, userProperties, meterRegistryProvider),
+                new AuthenticationCache(new AuthenticationProperties(), meterRegistryProvider),
+                new TokenService(new AuthenticationProperties(), new ObjectMapper()),
+                Schedulers.immediate(),
+                userSummaryPropagator
+        );
+    }
+
+    private User createUser(String id) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .email("email@email.com")
+                .password(id)
+                .roles(Set.of(RoleType.USER))
+                .build();
+    }
+}
@@ -3,21 +3,31 @@ package com.allitov.testutils;
 import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 import org.testcontainers.containers.MongoDBContainer;
 
 public class TestcontainersInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
 
-    private static final MongoDBContainer MONGODB = new MongoDBContainer("mongo:6.0.13");
-
-    static {
-        MONGODB.withReuse(true);
-        MONGODB.start();
-    }
+    private static final Profiles IN_MEMORY = Profiles.of("in-memory");
 
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
+        if (applicationContext.getEnvironment().acceptsProfiles(IN_MEMORY)) {
+            return;
+        }
+
         TestPropertyValues.of(
-                "spring.data.mongodb.uri=" + MONGODB.getReplicaSetUrl()
+                "spring.data.mongodb.uri=" + MongoDB.CONTAINER.getReplicaSetUrl()
         ).applyTo(applicationContext.getEnvironment());
     }
+
+    private static class MongoDB {
+
+        private static final MongoDBContainer CONTAINER = new MongoDBContainer("mongo:6.0.13");
+
+        static {
+            CONTAINER.withReuse(true);
+            CONTAINER.start();
+        }
+    }
 }